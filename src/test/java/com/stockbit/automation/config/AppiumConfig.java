@@ -6,6 +6,8 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -40,11 +42,52 @@ public class AppiumConfig {
         properties.setProperty("platform.name", "Android");
         properties.setProperty("automation.name", "UiAutomator2");
         properties.setProperty("device.name", "emulator-5554");
+        properties.setProperty("system.port.base", "8200");
+        properties.setProperty("device.lease.timeout.seconds", "900");
+        properties.setProperty("parallel.blocked.workers.per.device", "32");
+        properties.setProperty("prefix.sharing", "false");
+        properties.setProperty("session.reuse", "false");
+        properties.setProperty("scenario.checkpoints", "false");
+        properties.setProperty("scenario.checkpoints.run", "");
+        properties.setProperty("scenario.checkpoints.rerun", "false");
+        properties.setProperty("run.cache.max.entries", "512");
+        properties.setProperty("reset.strategy", "in_app");
+        properties.setProperty("shard.total", "1");
+        properties.setProperty("shard.index", "1");
+        properties.setProperty("shard.durations", "");
         properties.setProperty("app.path", APK_RESOURCE);
+        properties.setProperty("app.package", "com.saucelabs.mydemoapp.android");
+        properties.setProperty("deeplink.scheme", "mydemoapp");
+        properties.setProperty("screen.launch.wait.seconds", "5");
+        properties.setProperty("login.password", "10203040");
+        properties.setProperty("foreground.wait.seconds", "10");
+        properties.setProperty("dialog.watcher.interval.ms", "0");
+        properties.setProperty("dialog.policy.permission", "allow");
+        properties.setProperty("dialog.policy.anr", "wait");
+        properties.setProperty("dialog.policy.crash", "close");
         properties.setProperty("implicit.wait", "15");
         properties.setProperty("explicit.wait", "20");
         properties.setProperty("no.reset", "false");
         properties.setProperty("full.reset", "false");
+        properties.setProperty("event.timings", "false");
+        properties.setProperty("command.cache", "true");
+        properties.setProperty("screenshot.step", "false");
+        properties.setProperty("screenshot.max.width", "0");
+        properties.setProperty("screenshot.format", "png");
+        properties.setProperty("reporting.threads", "2");
+        properties.setProperty("filmstrip.frames", "0");
+        properties.setProperty("filmstrip.frame.width", "360");
+        properties.setProperty("recording.enabled", "false");
+        properties.setProperty("recording.max.seconds", "180");
+        properties.setProperty("recording.bit.rate", "2000000");
+        properties.setProperty("recording.video.size", "720x1280");
+        properties.setProperty("recording.max.mb", "50");
+        properties.setProperty("forensics.enabled", "false");
+        properties.setProperty("forensics.deadline.seconds", "15");
+        properties.setProperty("forensics.logcat.lines", "500");
+        properties.setProperty("logcat.enabled", "false");
+        properties.setProperty("logcat.buffer.lines", "5000");
+        properties.setProperty("adb.path", "adb");
     }
 
     public static String getAppiumServerUrl() {
@@ -63,6 +106,119 @@ public class AppiumConfig {
         return properties.getProperty("device.name", "emulator-5554");
     }
 
+    /**
+     * Gets the devices to run on. {@code device.names} is a comma-separated list of adb serials;
+     * when it is not set the single {@code device.name} is used.
+     *
+     * @return device serials, never empty
+     */
+    public static List<String> getDeviceNames() {
+        String names = properties.getProperty("device.names", "");
+        List<String> devices = Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        return devices.isEmpty() ? List.of(getDeviceName()) : devices;
+    }
+
+    /**
+     * First UiAutomator2 system port; device N uses base + N so sessions on one server don't clash.
+     */
+    public static int getSystemPortBase() {
+        return Integer.parseInt(properties.getProperty("system.port.base", "8200"));
+    }
+
+    /**
+     * Longest time a scenario thread waits for a free device before failing.
+     */
+    public static int getDeviceLeaseTimeoutSeconds() {
+        return Integer.parseInt(properties.getProperty("device.lease.timeout.seconds", "900"));
+    }
+
+    /**
+     * Extra workers per device the parallel executor may start while others wait on a join or a lease.
+     */
+    public static int getBlockedWorkersPerDevice() {
+        return Integer.parseInt(properties.getProperty("parallel.blocked.workers.per.device", "32"));
+    }
+
+    /**
+     * Whether passed scenarios keep their session so later scenarios can start from a shared-prefix checkpoint.
+     */
+    public static boolean isPrefixSharingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("prefix.sharing", "false"));
+    }
+
+    /**
+     * Maximum number of values in the run-scoped cache before the least recently used are evicted.
+     */
+    public static int getRunCacheMaxEntries() {
+        return Integer.parseInt(properties.getProperty("run.cache.max.entries", "512"));
+    }
+
+    /**
+     * Whether checkpoint steps save the scenario state so a retry resumes from the last one.
+     */
+    public static boolean isScenarioCheckpointsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("scenario.checkpoints", "false"));
+    }
+
+    /**
+     * Id of the run whose failed scenarios' checkpoints are written to disk, shared by the run
+     * and the job that reruns it; a -D system property overrides the file. Empty keeps
+     * checkpoints in memory, for retries in the same JVM only.
+     */
+    public static String getScenarioCheckpointsRun() {
+        return System.getProperty("scenario.checkpoints.run", properties.getProperty("scenario.checkpoints.run", ""));
+    }
+
+    /**
+     * Whether this run retries the failed scenarios of {@link #getScenarioCheckpointsRun()} and
+     * may resume them from its checkpoints on disk. Set by the rerun job.
+     */
+    public static boolean isScenarioCheckpointsRerun() {
+        return Boolean.parseBoolean(System.getProperty("scenario.checkpoints.rerun",
+                properties.getProperty("scenario.checkpoints.rerun", "false")));
+    }
+
+    /**
+     * Whether passed scenarios keep their session and the next scenario starts from an app reset.
+     */
+    public static boolean isSessionReuseEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("session.reuse", "false"));
+    }
+
+    /**
+     * Reset strategy a reused session needs when a scenario has no {@code @isolation:} tag.
+     */
+    public static String getDefaultResetStrategy() {
+        return properties.getProperty("reset.strategy", "in_app");
+    }
+
+    /**
+     * Number of shards the run is split into; a -D system property overrides the file so
+     * each CI job can pass its own values.
+     */
+    public static int getShardTotal() {
+        return Integer.parseInt(System.getProperty("shard.total", properties.getProperty("shard.total", "1")));
+    }
+
+    /**
+     * 1-based index of the shard this runner executes.
+     */
+    public static int getShardIndex() {
+        return Integer.parseInt(System.getProperty("shard.index", properties.getProperty("shard.index", "1")));
+    }
+
+    /**
+     * Cucumber JSON report covering all shards of a previous run, used to balance shards by
+     * duration. Empty means no report: shards are split by scenario count.
+     */
+    public static String getShardDurationsReport() {
+        return System.getProperty("shard.durations", properties.getProperty("shard.durations", ""));
+    }
+
     /**
      * Gets the absolute path to the APK file from classpath resources.
      * @return Absolute path to the APK file
@@ -85,6 +241,80 @@ public class AppiumConfig {
         return Paths.get(appPath).toAbsolutePath().toString();
     }
 
+    /**
+     * Gets the package name of the application under test.
+     */
+    public static String getAppPackage() {
+        return properties.getProperty("app.package", "com.saucelabs.mydemoapp.android");
+    }
+
+    /**
+     * URL scheme of the app's deep links, used to seed preconditions.
+     */
+    public static String getDeepLinkScheme() {
+        return properties.getProperty("deeplink.scheme", "mydemoapp");
+    }
+
+    /**
+     * Password used by seeded logins when a step names only the user.
+     */
+    public static String getLoginPassword() {
+        return properties.getProperty("login.password", "10203040");
+    }
+
+    /**
+     * How a screen is opened directly, overriding the built-in launch table:
+     * {@code link:<deep link path>} or {@code activity:<package/activity>}.
+     *
+     * @param screen screen name, e.g. DRAWING
+     * @return launch target, or null to use the default
+     */
+    public static String getScreenLaunch(String screen) {
+        return properties.getProperty("screen.launch." + screen);
+    }
+
+    /**
+     * Maximum time to wait for a directly launched screen to be recognized.
+     */
+    public static int getScreenLaunchWaitSeconds() {
+        return Integer.parseInt(properties.getProperty("screen.launch.wait.seconds", "5"));
+    }
+
+    /**
+     * Maximum time to wait for the app to regain focus after being reactivated.
+     */
+    public static int getForegroundWaitSeconds() {
+        return Integer.parseInt(properties.getProperty("foreground.wait.seconds", "10"));
+    }
+
+    /**
+     * Background system dialog polling interval in milliseconds, 0 to check only on demand.
+     */
+    public static long getDialogWatcherIntervalMs() {
+        return Long.parseLong(properties.getProperty("dialog.watcher.interval.ms", "0"));
+    }
+
+    /**
+     * How runtime permission dialogs are answered: allow or deny.
+     */
+    public static String getPermissionDialogPolicy() {
+        return properties.getProperty("dialog.policy.permission", "allow");
+    }
+
+    /**
+     * How "isn't responding" dialogs are answered: wait or close.
+     */
+    public static String getAnrDialogPolicy() {
+        return properties.getProperty("dialog.policy.anr", "wait");
+    }
+
+    /**
+     * How "keeps stopping" dialogs are answered: close or restart.
+     */
+    public static String getCrashDialogPolicy() {
+        return properties.getProperty("dialog.policy.crash", "close");
+    }
+
     public static int getImplicitWait() {
         return Integer.parseInt(properties.getProperty("implicit.wait", "10"));
     }
@@ -100,4 +330,142 @@ public class AppiumConfig {
     public static boolean isFullReset() {
         return Boolean.parseBoolean(properties.getProperty("full.reset", "false"));
     }
+
+    /**
+     * Whether Appium should record server-side event timings for each session.
+     * When enabled, session startup phases and per-command server/transport time are reported.
+     */
+    public static boolean isEventTimingsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("event.timings", "false"));
+    }
+
+    /**
+     * Whether repeated idempotent driver queries (window size, device info, context handles)
+     * are answered from a per-session cache.
+     */
+    public static boolean isCommandCacheEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("command.cache", "true"));
+    }
+
+    /**
+     * Whether a screenshot is captured after every step (processed in the background).
+     */
+    public static boolean isStepScreenshotEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("screenshot.step", "false"));
+    }
+
+    /**
+     * Maximum width of attached screenshots in pixels; 0 keeps the device resolution.
+     */
+    public static int getScreenshotMaxWidth() {
+        return Integer.parseInt(properties.getProperty("screenshot.max.width", "0"));
+    }
+
+    /**
+     * Image format of attached screenshots: png or jpg.
+     */
+    public static String getScreenshotFormat() {
+        return properties.getProperty("screenshot.format", "png");
+    }
+
+    /**
+     * Number of background threads used to process report attachments.
+     */
+    public static int getReportingThreads() {
+        return Integer.parseInt(properties.getProperty("reporting.threads", "2"));
+    }
+
+    /**
+     * Number of recent step frames kept in memory and attached on failure; 0 disables the filmstrip.
+     */
+    public static int getFilmstripFrames() {
+        return Integer.parseInt(properties.getProperty("filmstrip.frames", "0"));
+    }
+
+    /**
+     * Width in pixels of each filmstrip frame.
+     */
+    public static int getFilmstripFrameWidth() {
+        return Integer.parseInt(properties.getProperty("filmstrip.frame.width", "360"));
+    }
+
+    /**
+     * Whether the device screen is recorded during each scenario and kept on failure.
+     */
+    public static boolean isRecordingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("recording.enabled", "false"));
+    }
+
+    /**
+     * Longest screen recording segment in seconds (device-side limit, at most 1800); longer
+     * scenarios are recorded in consecutive segments.
+     */
+    public static int getRecordingMaxSeconds() {
+        return Integer.parseInt(properties.getProperty("recording.max.seconds", "180"));
+    }
+
+    /**
+     * Recording bit rate in bits per second.
+     */
+    public static int getRecordingBitRate() {
+        return Integer.parseInt(properties.getProperty("recording.bit.rate", "2000000"));
+    }
+
+    /**
+     * Recording resolution as WIDTHxHEIGHT.
+     */
+    public static String getRecordingVideoSize() {
+        return properties.getProperty("recording.video.size", "720x1280");
+    }
+
+    /**
+     * Largest recording kept for a failure in megabytes; each of the two kept segments is
+     * limited to half of it at the bit rate.
+     */
+    public static int getRecordingMaxMegabytes() {
+        return Integer.parseInt(properties.getProperty("recording.max.mb", "50"));
+    }
+
+    /**
+     * Whether a forensics bundle is collected for failed scenarios.
+     */
+    public static boolean isForensicsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("forensics.enabled", "false"));
+    }
+
+    /**
+     * Total time allowed for collecting the failure forensics bundle, in seconds.
+     */
+    public static int getForensicsDeadlineSeconds() {
+        return Integer.parseInt(properties.getProperty("forensics.deadline.seconds", "15"));
+    }
+
+    /**
+     * Number of recent logcat lines included in the forensics bundle.
+     */
+    public static int getForensicsLogcatLines() {
+        return Integer.parseInt(properties.getProperty("forensics.logcat.lines", "500"));
+    }
+
+    /**
+     * Whether app log lines are streamed from the device during the run.
+     * Requires adb on the machine running the tests.
+     */
+    public static boolean isLogcatEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("logcat.enabled", "false"));
+    }
+
+    /**
+     * Number of app log lines kept in memory per device.
+     */
+    public static int getLogcatBufferLines() {
+        return Integer.parseInt(properties.getProperty("logcat.buffer.lines", "5000"));
+    }
+
+    /**
+     * Path to the adb executable.
+     */
+    public static String getAdbPath() {
+        return properties.getProperty("adb.path", "adb");
+    }
 }
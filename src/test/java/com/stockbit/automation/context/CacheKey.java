@@ -0,0 +1,83 @@
+package com.stockbit.automation.context;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Typed key of the {@link RunCache}.
+ *
+ * @param <T> type of the cached value
+ */
+public final class CacheKey<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final Duration ttl;
+
+    private CacheKey(String name, Class<T> type, Duration ttl) {
+        this.name = Objects.requireNonNull(name);
+        this.type = Objects.requireNonNull(type);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Creates a key whose values live for the whole run.
+     *
+     * @param name unique key name
+     * @param type value type
+     */
+    public static <T> CacheKey<T> of(String name, Class<T> type) {
+        return new CacheKey<>(name, type, null);
+    }
+
+    /**
+     * Creates a key whose values expire after the given time.
+     *
+     * @param name unique key name
+     * @param type value type
+     * @param ttl  time to live of a value
+     */
+    public static <T> CacheKey<T> of(String name, Class<T> type, Duration ttl) {
+        return new CacheKey<>(name, type, ttl);
+    }
+
+    /**
+     * Derives a key for one instance of the data, e.g. one device.
+     *
+     * @param qualifier instance id, e.g. a device serial
+     * @return key with the same type and time to live
+     */
+    public CacheKey<T> qualified(String qualifier) {
+        return new CacheKey<>(name + "@" + qualifier, type, ttl);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the time to live, or null when values never expire.
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CacheKey<?> other && name.equals(other.name) && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,285 @@
+package com.stockbit.automation.context;
+
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.drivers.DriverManager;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix-sharing execution: a shared scenario prefix runs once per session, and later
+ * scenarios with the same prefix start from an app-state checkpoint instead of replaying it.
+ * <p>
+ * A checkpoint is taken where scenarios fork (see
+ * {@link com.stockbit.automation.runners.PrefixSharingPlugin}). It holds a copy of the app's
+ * data directory on the device, the foreground activity, a fingerprint of the screen and the
+ * scenario context. Restoring stops the app, puts the data back, starts the activity and
+ * checks the fingerprint; if anything differs the session is restarted and the scenario runs
+ * every step. Only {@link Skippable} step definitions can be part of a checkpoint, so a step
+ * that was never written to be skipped is never skipped.
+ * <p>
+ * Copying the data directory uses {@code mobile: shell} with {@code run-as}, so the Appium
+ * server must allow the {@code adb_shell} feature and the app must be debuggable.
+ */
+public class PrefixExecution {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefixExecution.class);
+    private static final int MAX_CHECKPOINTS = 8;
+    private static final Duration RESTORE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern NODE = Pattern.compile("<[^>]*?text=\"([^\"]*)\"[^>]*?resource-id=\"([^\"]*)\"");
+
+    /** Step texts whose definitions are known to skip safely after a restore. */
+    private static final Set<String> SKIPPABLE_STEPS = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Session> sessionThreadLocal = ThreadLocal.withInitial(Session::new);
+
+    /**
+     * App state after a shared prefix.
+     *
+     * @param prefix      step texts that led to this state
+     * @param directory   copy of the app data directory, relative to the app's data dir
+     * @param activity    foreground activity
+     * @param fingerprint screen fingerprint used to verify a restore
+     * @param context     scenario context entries at that point
+     */
+    private record Checkpoint(List<String> prefix, String directory, String activity, String fingerprint,
+                              Map<String, Object> context) {
+    }
+
+    /**
+     * Prefix state of the session owned by one thread.
+     */
+    private static final class Session {
+        private final List<Checkpoint> checkpoints = new ArrayList<>();
+        private String sessionId;
+        private List<String> steps = List.of();
+        private int stepIndex = -1;
+        private int guardedSteps;
+        private int restoredSteps;
+        private int checkpointCounter;
+        private TestContext testContext;
+    }
+
+    private PrefixExecution() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Whether prefix sharing is enabled ({@code prefix.sharing}).
+     */
+    public static boolean isEnabled() {
+        return AppiumConfig.isPrefixSharingEnabled();
+    }
+
+    /**
+     * Starts tracking a scenario.
+     *
+     * @param steps step texts of the scenario in execution order
+     */
+    public static void beginScenario(List<String> steps) {
+        Session session = sessionThreadLocal.get();
+        session.steps = List.copyOf(steps);
+        session.stepIndex = -1;
+        session.guardedSteps = 0;
+        session.restoredSteps = 0;
+    }
+
+    /**
+     * Records that the step at the given index is about to run.
+     *
+     * @param index position of the step in the scenario
+     */
+    public static void stepStarted(int index) {
+        sessionThreadLocal.get().stepIndex = index;
+    }
+
+    /**
+     * Position of the running step in the current scenario, -1 before the first step.
+     */
+    public static int stepIndex() {
+        return sessionThreadLocal.get().stepIndex;
+    }
+
+    /**
+     * Marks the first {@code steps} steps of the current scenario as restored, so their
+     * guarded definitions return immediately.
+     *
+     * @param steps number of leading steps whose effect is already in place
+     */
+    public static void resumeAfter(int steps) {
+        sessionThreadLocal.get().restoredSteps = steps;
+    }
+
+    /**
+     * Number of leading steps of the current scenario whose definitions support skipping.
+     */
+    public static int guardedSteps() {
+        return sessionThreadLocal.get().guardedSteps;
+    }
+
+    /**
+     * Whether the step text has a definition that supports skipping.
+     *
+     * @param stepText step text
+     */
+    public static boolean isSkippable(String stepText) {
+        return SKIPPABLE_STEPS.contains(stepText);
+    }
+
+    /**
+     * Called by {@link SkippableStepAspect} before a {@link Skippable} step definition runs.
+     * Also marks the step as eligible for future checkpoints.
+     *
+     * @return true if the step's effect was restored and the step should return immediately
+     */
+    static boolean skipIfRestored() {
+        Session session = sessionThreadLocal.get();
+        int index = session.stepIndex;
+        if (index < 0 || index >= session.steps.size()) {
+            return false;
+        }
+        SKIPPABLE_STEPS.add(session.steps.get(index));
+        if (index == session.guardedSteps) {
+            session.guardedSteps++;
+        }
+        if (index < session.restoredSteps) {
+            logger.info("Skipping '{}', restored from checkpoint", session.steps.get(index));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Prepares the session for a new scenario. On a fresh session nothing happens. On a reused
+     * session the deepest checkpoint matching the scenario's prefix is restored; if there is
+     * none, or the restore cannot be verified, the session is restarted so the scenario still
+     * starts from a clean app.
+     *
+     * @param testContext context of the scenario
+     */
+    public static void prepareScenario(TestContext testContext) {
+        Session session = sessionThreadLocal.get();
+        session.testContext = testContext;
+        AndroidDriver driver = DriverManager.getDriver();
+        String sessionId = String.valueOf(driver.getSessionId());
+        if (!sessionId.equals(session.sessionId)) {
+            // New session: clean app, no checkpoints yet
+            session.sessionId = sessionId;
+            session.checkpoints.clear();
+            return;
+        }
+
+        Checkpoint checkpoint = deepestMatch(session);
+        if (checkpoint != null && restore(driver, checkpoint)) {
+            testContext.restoreEntries(checkpoint.context());
+            session.restoredSteps = checkpoint.prefix().size();
+            logger.info("Restored checkpoint after {} shared steps", session.restoredSteps);
+            return;
+        }
+
+        logger.info("No usable checkpoint for this scenario, starting a fresh session");
+        DriverManager.restartSession();
+        session.sessionId = String.valueOf(DriverManager.getDriver().getSessionId());
+        session.checkpoints.clear();
+    }
+
+    /**
+     * Captures the app state after the first {@code length} steps of the current scenario.
+     *
+     * @param length number of steps executed so far
+     */
+    public static void capture(int length) {
+        Session session = sessionThreadLocal.get();
+        List<String> prefix = session.steps.subList(0, length);
+        if (session.testContext == null
+                || session.checkpoints.stream().anyMatch(c -> c.prefix().equals(prefix))) {
+            return;
+        }
+        try {
+            AndroidDriver driver = DriverManager.getDriver();
+            String directory = "cache/prefix-checkpoint-" + (++session.checkpointCounter);
+            runAs(driver, "rm -rf " + directory + " && mkdir -p " + directory
+                    + " && for d in shared_prefs databases files; do if [ -d $d ]; then cp -r $d " + directory + "/; fi; done");
+            Checkpoint checkpoint = new Checkpoint(List.copyOf(prefix), directory, driver.currentActivity(),
+                    fingerprint(driver.getPageSource()), session.testContext.copyEntries());
+            if (session.checkpoints.size() == MAX_CHECKPOINTS) {
+                session.checkpoints.remove(0);
+            }
+            session.checkpoints.add(checkpoint);
+            logger.info("Captured checkpoint after {} shared steps", prefix.size());
+        } catch (Exception e) {
+            logger.warn("Could not capture checkpoint: {}", e.getMessage());
+        }
+    }
+
+    private static Checkpoint deepestMatch(Session session) {
+        Checkpoint best = null;
+        for (Checkpoint checkpoint : session.checkpoints) {
+            List<String> prefix = checkpoint.prefix();
+            boolean matches = prefix.size() <= session.steps.size()
+                    && session.steps.subList(0, prefix.size()).equals(prefix);
+            if (matches && (best == null || prefix.size() > best.prefix().size())) {
+                best = checkpoint;
+            }
+        }
+        return best;
+    }
+
+    private static boolean restore(AndroidDriver driver, Checkpoint checkpoint) {
+        String appPackage = AppiumConfig.getAppPackage();
+        try {
+            driver.terminateApp(appPackage);
+            runAs(driver, "rm -rf shared_prefs databases files && cp -r " + checkpoint.directory() + "/. .");
+            driver.executeScript("mobile: startActivity", Map.of("intent", appPackage + "/" + checkpoint.activity()));
+            new FluentWait<>(driver)
+                    .withTimeout(RESTORE_TIMEOUT)
+                    .pollingEvery(Duration.ofMillis(300))
+                    .until(d -> checkpoint.fingerprint().equals(fingerprint(d.getPageSource())));
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Screen after restore does not match the checkpoint");
+        } catch (Exception e) {
+            logger.warn("Could not restore checkpoint: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Runs a shell script as the app's user, in the app's data directory.
+     *
+     * @return the script's standard output
+     */
+    static String runAs(AndroidDriver driver, String script) {
+        Object output = driver.executeScript("mobile: shell", Map.of(
+                "command", "run-as",
+                "args", List.of(AppiumConfig.getAppPackage(), "sh", "-c", script)
+        ));
+        return output == null ? "" : output.toString();
+    }
+
+    /**
+     * Text and id of every app element on screen, order-independent.
+     */
+    static String fingerprint(String pageSource) {
+        Set<String> elements = new TreeSet<>();
+        String idPrefix = AppiumConfig.getAppPackage() + ":id/";
+        Matcher matcher = NODE.matcher(pageSource == null ? "" : pageSource);
+        while (matcher.find()) {
+            if (matcher.group(2).startsWith(idPrefix)) {
+                elements.add(matcher.group(2) + "=" + matcher.group(1));
+            }
+        }
+        return String.join("|", elements);
+    }
+}
@@ -0,0 +1,188 @@
+package com.stockbit.automation.context;
+
+import com.stockbit.automation.config.AppiumConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Run-scoped cache for data that is expensive to learn and the same for every scenario,
+ * such as a device's screen size. Shared by all scenario threads.
+ * <p>
+ * Values are stored under typed {@link CacheKey}s and may expire after the key's time to live.
+ * When the cache holds more than {@code run.cache.max.entries} values, the least recently used
+ * ones are evicted. Loading a missing value happens once per key even when several threads ask
+ * for it at the same time. Scenario-specific data belongs in {@link TestContext}, which reads
+ * through to this cache.
+ */
+public class RunCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunCache.class);
+
+    private static final Map<CacheKey<?>, Entry> entries = new ConcurrentHashMap<>();
+    private static final Map<CacheKey<?>, Load> loads = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(Object value, CacheKey<?> key) {
+            this.value = value;
+            long now = System.nanoTime();
+            this.expiresAt = key.getTtl() == null ? Long.MAX_VALUE : now + key.getTtl().toNanos();
+            this.lastAccess = now;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * A load in progress, run by the thread that placed it and awaited by the others.
+     */
+    private static final class Load extends FutureTask<Object> {
+        private final Thread owner = Thread.currentThread();
+
+        private Load(Supplier<?> loader) {
+            super(loader::get);
+        }
+    }
+
+    private RunCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets a cached value.
+     *
+     * @param key typed key
+     * @return the value, or empty if absent or expired
+     */
+    public static <T> Optional<T> get(CacheKey<T> key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        if (entry.isExpired(now)) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        entry.lastAccess = now;
+        return Optional.of(key.getType().cast(entry.value));
+    }
+
+    /**
+     * Gets a cached value, loading and caching it if absent or expired. Concurrent callers for
+     * the same key wait for a single load. The loader runs outside any map lock, so it may use
+     * the cache for other keys, but not load its own key again.
+     *
+     * @param key    typed key
+     * @param loader computes the value; a null result is not cached
+     * @return the value, or null if the loader returned null
+     */
+    public static <T> T getOrLoad(CacheKey<T> key, Supplier<T> loader) {
+        Optional<T> cached = get(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Load load = new Load(() -> {
+            // Another thread may have finished loading between the first check and this load
+            Optional<T> loaded = get(key);
+            if (loaded.isPresent()) {
+                return loaded.get();
+            }
+            T value = loader.get();
+            if (value != null) {
+                entries.put(key, new Entry(key.getType().cast(value), key));
+            }
+            return value;
+        });
+        Load running = loads.putIfAbsent(key, load);
+        if (running == null) {
+            running = load;
+            try {
+                load.run();
+            } finally {
+                loads.remove(key, load);
+            }
+            evictIfFull();
+        } else if (running.owner == Thread.currentThread() && !running.isDone()) {
+            throw new IllegalStateException("Recursive load of " + key);
+        }
+        try {
+            return key.getType().cast(running.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to load " + key, e.getCause());
+        }
+    }
+
+    /**
+     * Caches a value, replacing any previous one.
+     *
+     * @param key   typed key
+     * @param value value to cache
+     */
+    public static <T> void put(CacheKey<T> key, T value) {
+        entries.put(key, new Entry(key.getType().cast(value), key));
+        evictIfFull();
+    }
+
+    /**
+     * Removes a cached value, e.g. after the app under test changed it.
+     *
+     * @param key typed key
+     */
+    public static void invalidate(CacheKey<?> key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every cached value.
+     */
+    public static void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of cached values, including expired ones not yet removed.
+     */
+    public static int size() {
+        return entries.size();
+    }
+
+    private static void evictIfFull() {
+        int maxEntries = AppiumConfig.getRunCacheMaxEntries();
+        while (entries.size() > maxEntries) {
+            long now = System.nanoTime();
+            entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+            if (entries.size() <= maxEntries) {
+                return;
+            }
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .ifPresent(e -> {
+                        entries.remove(e.getKey(), e.getValue());
+                        logger.debug("Evicted {} from run cache", e.getKey());
+                    });
+        }
+    }
+}
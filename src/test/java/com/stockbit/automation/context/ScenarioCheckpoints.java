@@ -0,0 +1,283 @@
+package com.stockbit.automation.context;
+
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.drivers.DriverManager;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoints inside a scenario, so a retry of a failed scenario resumes from the last one
+ * instead of replaying every step.
+ * <p>
+ * A feature marks a boundary with the {@code checkpoint "<name>"} step. Every step before it
+ * must be {@link Skippable}; a checkpoint step that cannot be saved fails the scenario. A
+ * checkpoint holds the scenario context and a snapshot of the app's data directory (a tar
+ * archive read through {@code run-as}, so it survives the app being cleared by a new
+ * session), the foreground activity and a fingerprint of the screen. Checkpoints are kept in
+ * memory, for retries in the same JVM such as surefire's {@code rerunFailingTestsCount}, and,
+ * when a run id is set ({@code scenario.checkpoints.run}), under
+ * {@code target/checkpoints/<run id>} for the job that reruns it in a new JVM. A passed
+ * scenario drops its checkpoints.
+ * <p>
+ * Only a retry resumes: the first attempt of a scenario in a JVM always runs every step,
+ * unless the run is a rerun ({@code scenario.checkpoints.rerun}). A run that is not a rerun
+ * deletes whatever earlier runs left on disk. On retry the app state is pushed back and the
+ * activity started; the fingerprint must match, otherwise the scenario runs from the start.
+ * Needs the {@code adb_shell} server feature and a debuggable app, like prefix sharing.
+ */
+public class ScenarioCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioCheckpoints.class);
+    private static final Path ROOT = Paths.get("target", "checkpoints");
+    private static final String APP_DIRS = "shared_prefs databases files";
+    private static final Duration RESTORE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private static final AtomicBoolean storePrepared = new AtomicBoolean();
+    private static final ThreadLocal<String> scenarioKeyThreadLocal = new ThreadLocal<>();
+
+    /**
+     * State of a scenario at a checkpoint step.
+     *
+     * @param name        checkpoint name from the feature
+     * @param steps       number of steps completed, including the checkpoint step
+     * @param appData     tar archive of the app's data directories
+     * @param activity    foreground activity
+     * @param fingerprint screen fingerprint used to verify a restore
+     * @param context     scenario context entries
+     */
+    private record Checkpoint(String name, int steps, byte[] appData, String activity, String fingerprint,
+                              Map<String, Object> context) {
+    }
+
+    private ScenarioCheckpoints() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Whether in-scenario checkpoints are enabled ({@code scenario.checkpoints}).
+     */
+    public static boolean isEnabled() {
+        return AppiumConfig.isScenarioCheckpointsEnabled();
+    }
+
+    /**
+     * Starts a scenario and, if it is a retry, resumes it from the last checkpoint an earlier
+     * attempt left.
+     *
+     * @param scenarioKey stable scenario id, e.g. its uri and line
+     * @param testContext context of the scenario
+     */
+    public static void beginScenario(String scenarioKey, TestContext testContext) {
+        prepareStore();
+        scenarioKeyThreadLocal.set(scenarioKey);
+        boolean retry = attempts.merge(scenarioKey, 1, Integer::sum) > 1 || AppiumConfig.isScenarioCheckpointsRerun();
+        if (!retry) {
+            checkpoints.remove(scenarioKey);
+            return;
+        }
+        Checkpoint checkpoint = checkpoints.computeIfAbsent(scenarioKey, ScenarioCheckpoints::load);
+        if (checkpoint == null) {
+            return;
+        }
+        if (restore(DriverManager.getDriver(), checkpoint)) {
+            testContext.restoreEntries(checkpoint.context());
+            PrefixExecution.resumeAfter(checkpoint.steps());
+            logger.info("Resuming from checkpoint '{}' after {} steps", checkpoint.name(), checkpoint.steps());
+        } else {
+            logger.warn("Checkpoint '{}' could not be restored, running every step", checkpoint.name());
+        }
+    }
+
+    /**
+     * Saves a checkpoint of the current scenario at the running step.
+     *
+     * @param name        checkpoint name
+     * @param testContext context of the scenario
+     * @throws IllegalStateException if a step before the checkpoint is not {@link Skippable} or
+     *                               the app state could not be read
+     */
+    public static void save(String name, TestContext testContext) {
+        String scenarioKey = scenarioKeyThreadLocal.get();
+        int steps = PrefixExecution.stepIndex() + 1;
+        if (scenarioKey == null) {
+            throw new IllegalStateException("Checkpoint '" + name + "' reached outside a tracked scenario");
+        }
+        if (PrefixExecution.guardedSteps() < steps) {
+            throw new IllegalStateException("Checkpoint '" + name + "' cannot be saved: step "
+                    + (PrefixExecution.guardedSteps() + 1) + " is not @Skippable");
+        }
+        try {
+            AndroidDriver driver = DriverManager.getDriver();
+            String archive = PrefixExecution.runAs(driver,
+                    "tar -cf - $(for d in " + APP_DIRS + "; do [ -d $d ] && echo $d; done) | base64");
+            Checkpoint checkpoint = new Checkpoint(name, steps, Base64.getMimeDecoder().decode(archive.trim()),
+                    driver.currentActivity(), PrefixExecution.fingerprint(driver.getPageSource()),
+                    testContext.copyEntries());
+            checkpoints.put(scenarioKey, checkpoint);
+            persist(scenarioKey, checkpoint);
+            logger.info("Saved checkpoint '{}' after {} steps", name, steps);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not save checkpoint '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Ends the current scenario; a passed scenario drops its checkpoint.
+     *
+     * @param failed whether the scenario failed
+     */
+    public static void endScenario(boolean failed) {
+        String scenarioKey = scenarioKeyThreadLocal.get();
+        scenarioKeyThreadLocal.remove();
+        if (scenarioKey == null || failed) {
+            return;
+        }
+        checkpoints.remove(scenarioKey);
+        if (store() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(archivePath(scenarioKey));
+            Files.deleteIfExists(metadataPath(scenarioKey));
+        } catch (Exception e) {
+            logger.debug("Could not delete checkpoint files: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes checkpoints earlier runs left on disk, once per JVM, unless this run is their rerun.
+     */
+    private static void prepareStore() {
+        if (AppiumConfig.isScenarioCheckpointsRerun() || !storePrepared.compareAndSet(false, true)
+                || !Files.isDirectory(ROOT)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(ROOT)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            logger.info("Deleted stale checkpoints under {}", ROOT);
+        } catch (Exception e) {
+            logger.warn("Could not delete stale checkpoints under {}: {}", ROOT, e.getMessage());
+        }
+    }
+
+    /**
+     * Directory of this run's checkpoints, or null if checkpoints stay in memory.
+     */
+    private static Path store() {
+        String run = AppiumConfig.getScenarioCheckpointsRun().trim();
+        return run.isEmpty() ? null : ROOT.resolve(fileName(run));
+    }
+
+    private static boolean restore(AndroidDriver driver, Checkpoint checkpoint) {
+        String appPackage = AppiumConfig.getAppPackage();
+        String remote = "/data/local/tmp/" + appPackage + "-checkpoint.tar";
+        try {
+            driver.terminateApp(appPackage);
+            driver.pushFile(remote, checkpoint.appData());
+            PrefixExecution.runAs(driver, "rm -rf " + APP_DIRS + " && tar -xf " + remote);
+            driver.executeScript("mobile: startActivity", Map.of("intent", appPackage + "/" + checkpoint.activity()));
+            new FluentWait<>(driver)
+                    .withTimeout(RESTORE_TIMEOUT)
+                    .pollingEvery(Duration.ofMillis(300))
+                    .until(d -> checkpoint.fingerprint().equals(PrefixExecution.fingerprint(d.getPageSource())));
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not restore checkpoint: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void persist(String scenarioKey, Checkpoint checkpoint) {
+        if (store() == null) {
+            return;
+        }
+        Map<String, List<String>> context = new HashMap<>();
+        for (Map.Entry<String, Object> entry : checkpoint.context().entrySet()) {
+            Object value = entry.getValue();
+            if (!(value instanceof String || value instanceof Integer || value instanceof Long
+                    || value instanceof Double || value instanceof Boolean)) {
+                // The checkpoint stays usable in this JVM only
+                logger.debug("Context entry '{}' cannot be written, checkpoint kept in memory", entry.getKey());
+                return;
+            }
+            context.put(entry.getKey(), List.of(value.getClass().getSimpleName(), value.toString()));
+        }
+        try {
+            Files.createDirectories(store());
+            Files.write(archivePath(scenarioKey), checkpoint.appData());
+            Files.writeString(metadataPath(scenarioKey), new Json().toJson(Map.of(
+                    "name", checkpoint.name(),
+                    "steps", checkpoint.steps(),
+                    "activity", checkpoint.activity(),
+                    "fingerprint", checkpoint.fingerprint(),
+                    "context", context
+            )), StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            logger.warn("Could not write checkpoint to {}: {}", store(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Checkpoint load(String scenarioKey) {
+        if (store() == null || !AppiumConfig.isScenarioCheckpointsRerun()) {
+            return null;
+        }
+        Path metadata = metadataPath(scenarioKey);
+        if (!Files.exists(metadata)) {
+            return null;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(metadata, StandardCharsets.UTF_8), Map.class);
+            Map<String, Object> context = new HashMap<>();
+            ((Map<String, List<String>>) json.get("context")).forEach((key, typed) ->
+                    context.put(key, parseValue(typed.get(0), typed.get(1))));
+            return new Checkpoint((String) json.get("name"), ((Number) json.get("steps")).intValue(),
+                    Files.readAllBytes(archivePath(scenarioKey)), (String) json.get("activity"),
+                    (String) json.get("fingerprint"), context);
+        } catch (Exception e) {
+            logger.warn("Could not read checkpoint {}: {}", metadata, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Object parseValue(String type, String value) {
+        return switch (type) {
+            case "Integer" -> Integer.valueOf(value);
+            case "Long" -> Long.valueOf(value);
+            case "Double" -> Double.valueOf(value);
+            case "Boolean" -> Boolean.valueOf(value);
+            default -> value;
+        };
+    }
+
+    private static Path metadataPath(String scenarioKey) {
+        return store().resolve(fileName(scenarioKey) + ".json");
+    }
+
+    private static Path archivePath(String scenarioKey) {
+        return store().resolve(fileName(scenarioKey) + ".tar");
+    }
+
+    private static String fileName(String scenarioKey) {
+        return scenarioKey.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,18 @@
+package com.stockbit.automation.context;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a step definition whose effect is fully captured by an app-state checkpoint, so it
+ * can be skipped when a checkpoint after it was restored.
+ * <p>
+ * The check runs in {@link SkippableStepAspect} before the method body; a step that was never
+ * marked is never skipped, and a checkpoint is only taken after a run of marked steps.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Skippable {
+}
@@ -0,0 +1,24 @@
+package com.stockbit.automation.context;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Skips {@link Skippable} step definitions whose effect was restored from a checkpoint.
+ * <p>
+ * Woven at load time by the AspectJ agent that surefire already starts (see
+ * {@code META-INF/aop.xml}). Without the agent no step is ever marked skippable, so no
+ * checkpoint is taken and every step runs.
+ */
+@Aspect
+public class SkippableStepAspect {
+
+    @Around("execution(@com.stockbit.automation.context.Skippable void *(..))")
+    public Object skipIfRestored(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (PrefixExecution.skipIfRestored()) {
+            return null;
+        }
+        return joinPoint.proceed();
+    }
+}
@@ -5,10 +5,12 @@ import io.appium.java_client.android.AndroidDriver;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Test Context class for sharing state between step definitions.
  * Used with PicoContainer for dependency injection in Cucumber.
+ * Typed lookups read through to the run-scoped {@link RunCache} for data shared by all scenarios.
  */
 public class TestContext {
 
@@ -47,6 +49,47 @@ public class TestContext {
         return scenarioContext.get(key);
     }
 
+    /**
+     * Retrieves a typed value from the scenario context, or from the run cache if the scenario
+     * has not set it.
+     *
+     * @param key typed key
+     * @return the value, or null if neither holds it
+     */
+    public <T> T getContext(CacheKey<T> key) {
+        Object value = scenarioContext.get(key.getName());
+        if (value != null) {
+            return key.getType().cast(value);
+        }
+        return RunCache.get(key).orElse(null);
+    }
+
+    /**
+     * Retrieves a typed value from the scenario context, or from the run cache, loading it into
+     * the run cache once for all scenarios if absent.
+     *
+     * @param key    typed key
+     * @param loader computes the value on a cache miss
+     * @return the value
+     */
+    public <T> T getContext(CacheKey<T> key, Supplier<T> loader) {
+        Object value = scenarioContext.get(key.getName());
+        if (value != null) {
+            return key.getType().cast(value);
+        }
+        return RunCache.getOrLoad(key, loader);
+    }
+
+    /**
+     * Stores a value in the run cache, visible to every scenario of the run.
+     *
+     * @param key   typed key
+     * @param value the value to store
+     */
+    public <T> void setSharedContext(CacheKey<T> key, T value) {
+        RunCache.put(key, value);
+    }
+
     /**
      * Checks if a key exists in the scenario context.
      *
@@ -57,6 +100,24 @@ public class TestContext {
         return scenarioContext.containsKey(key);
     }
 
+    /**
+     * Copies all stored context data, e.g. for an app-state checkpoint.
+     *
+     * @return copy of the context entries
+     */
+    Map<String, Object> copyEntries() {
+        return new HashMap<>(scenarioContext);
+    }
+
+    /**
+     * Adds previously copied context data.
+     *
+     * @param entries entries from {@link #copyEntries()}
+     */
+    void restoreEntries(Map<String, Object> entries) {
+        scenarioContext.putAll(entries);
+    }
+
     /**
      * Clears all stored context data.
      */
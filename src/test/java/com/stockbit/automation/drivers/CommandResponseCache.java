@@ -0,0 +1,120 @@
+package com.stockbit.automation.drivers;
+
+import io.appium.java_client.proxy.MethodCallListener;
+import org.openqa.selenium.remote.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers repeated idempotent or slowly-changing WebDriver queries of one session from memory,
+ * so page objects asking for the window size or the context handles again cost no round trip.
+ * <p>
+ * Like {@link CommandTimingRecorder} it sees the two-argument {@code execute(String, Map)} call
+ * every driver API funnels through. Responses are cached per command and parameters:
+ * <ul>
+ *   <li>device geometry and device info live for the session and are dropped when the screen
+ *       is rotated;</li>
+ *   <li>the focused package, the current activity and the context handles follow the app, so
+ *       they are dropped by any command not known to be read-only and expire after a short
+ *       time, since dialogs and webviews can appear on their own.</li>
+ * </ul>
+ * Failed commands are never cached. A command answered from memory is not recorded by
+ * {@link CommandTimingRecorder}, since the server never saw it.
+ */
+public class CommandResponseCache implements MethodCallListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandResponseCache.class);
+
+    /** Time a response that follows the app state stays valid without any command in between. */
+    private static final long APP_STATE_TTL_NANOS = 1_000_000_000L;
+
+    /** Queries whose answer only changes with the screen orientation. */
+    private static final Set<String> DEVICE_QUERIES = Set.of(
+            "getCurrentWindowSize", "getWindowRect", "getDisplayDensity", "getSystemBars");
+    private static final Set<String> DEVICE_SCRIPTS = Set.of("mobile: deviceInfo");
+
+    /** Queries whose answer follows the app state. */
+    private static final Set<String> APP_STATE_QUERIES = Set.of(
+            "getCurrentPackage", "currentActivity", "getContextHandles");
+
+    /** Commands that read state without changing it. */
+    private static final Set<String> READ_ONLY_COMMANDS = Set.of(
+            "getPageSource", "findElement", "findElements", "findChildElement", "findChildElements",
+            "getElementText", "getElementAttribute", "getElementRect", "getElementTagName",
+            "isElementDisplayed", "isElementEnabled", "isElementSelected", "getElementLocation",
+            "getElementSize", "screenshot", "elementScreenshot", "getScreenOrientation",
+            "getCurrentContextHandle", "getSessionLogs", "getLog", "getAvailableLogTypes",
+            "getEvents", "getStatus", "getTimeouts");
+    private static final Set<String> READ_ONLY_SCRIPTS = Set.of(
+            "mobile: deviceInfo", "mobile: getDeviceTime", "mobile: batteryInfo",
+            "mobile: getCurrentActivity", "mobile: getCurrentPackage", "mobile: listWindows");
+
+    private static final Set<String> ROTATION_COMMANDS = Set.of("setScreenOrientation", "setScreenRotation");
+
+    private record Entry(Response response, long cachedAt, boolean followsApp) {
+    }
+
+    /** Whether this thread's last command was answered from memory. */
+    private static final ThreadLocal<Boolean> answeredFromCache = new ThreadLocal<>();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Object call(Object obj, Method method, Object[] args, Callable<?> original) throws Throwable {
+        if (!isCommandExecution(method, args)) {
+            return original.call();
+        }
+        answeredFromCache.remove();
+        String command = (String) args[0];
+        Map<?, ?> parameters = args[1] instanceof Map<?, ?> map ? map : Map.of();
+        String script = "executeScript".equals(command) ? String.valueOf(parameters.get("script")) : null;
+        boolean device = DEVICE_QUERIES.contains(command) || (script != null && DEVICE_SCRIPTS.contains(script));
+        boolean followsApp = APP_STATE_QUERIES.contains(command);
+
+        if (!device && !followsApp) {
+            invalidateAfter(command, script);
+            return original.call();
+        }
+
+        String key = command + parameters;
+        Entry entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry != null && (!entry.followsApp() || now - entry.cachedAt() < APP_STATE_TTL_NANOS)) {
+            logger.trace("Answered {} from the command cache", command);
+            answeredFromCache.set(true);
+            return entry.response();
+        }
+        Object result = original.call();
+        if (result instanceof Response response) {
+            entries.put(key, new Entry(response, now, followsApp));
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether the current thread's last command was answered from memory, and forgets it.
+     */
+    static boolean takeAnsweredFromCache() {
+        boolean cached = Boolean.TRUE.equals(answeredFromCache.get());
+        answeredFromCache.remove();
+        return cached;
+    }
+
+    private void invalidateAfter(String command, String script) {
+        if (ROTATION_COMMANDS.contains(command)) {
+            entries.clear();
+        } else if (!READ_ONLY_COMMANDS.contains(command) && (script == null || !READ_ONLY_SCRIPTS.contains(script))) {
+            entries.values().removeIf(Entry::followsApp);
+        }
+    }
+
+    private static boolean isCommandExecution(Method method, Object[] args) {
+        return "execute".equals(method.getName()) && args != null && args.length == 2 && args[0] instanceof String;
+    }
+}
@@ -0,0 +1,84 @@
+package com.stockbit.automation.drivers;
+
+import io.appium.java_client.proxy.MethodCallListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records the client-side wall time of every WebDriver command sent by the driver proxy.
+ * Only the two-argument {@code execute(String, Map)} call is measured, since every
+ * other driver API funnels through it exactly once per HTTP request. Commands that
+ * {@link CommandResponseCache} answered from memory never reached the server and are skipped.
+ */
+public class CommandTimingRecorder implements MethodCallListener {
+
+    private final List<ClientCommand> commands = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+    private final ThreadLocal<Long> startMillis = new ThreadLocal<>();
+
+    /**
+     * A single command as observed by the JVM.
+     *
+     * @param name           WebDriver command name
+     * @param startTimestamp epoch millis when the request was issued
+     * @param durationMillis client-side round trip in milliseconds
+     */
+    public record ClientCommand(String name, long startTimestamp, double durationMillis) {
+    }
+
+    @Override
+    public void beforeCall(Object obj, Method method, Object[] args) {
+        if (isCommandExecution(method, args)) {
+            startMillis.set(System.currentTimeMillis());
+            startNanos.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCall(Object obj, Method method, Object[] args, Object result) {
+        if (!isCommandExecution(method, args)) {
+            return;
+        }
+        if (CommandResponseCache.takeAnsweredFromCache()) {
+            startNanos.remove();
+            startMillis.remove();
+            return;
+        }
+        record(String.valueOf(args[0]));
+    }
+
+    @Override
+    public Object onError(Object obj, Method method, Object[] args, Throwable e) throws Throwable {
+        if (isCommandExecution(method, args)) {
+            record(String.valueOf(args[0]));
+        }
+        throw e;
+    }
+
+    /**
+     * Returns a copy of the commands recorded so far, in issue order.
+     */
+    public List<ClientCommand> getCommands() {
+        synchronized (commands) {
+            return new ArrayList<>(commands);
+        }
+    }
+
+    private void record(String name) {
+        Long started = startNanos.get();
+        if (started == null) {
+            return;
+        }
+        double durationMillis = (System.nanoTime() - started) / 1_000_000.0;
+        commands.add(new ClientCommand(name, startMillis.get(), durationMillis));
+        startNanos.remove();
+        startMillis.remove();
+    }
+
+    private static boolean isCommandExecution(Method method, Object[] args) {
+        return "execute".equals(method.getName()) && args != null && args.length == 2 && args[0] instanceof String;
+    }
+}
@@ -0,0 +1,220 @@
+package com.stockbit.automation.drivers;
+
+import com.stockbit.automation.config.AppiumConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out the configured devices to scenario threads, one device per thread at a time.
+ * <p>
+ * The pool size is also the parallelism of the Cucumber run (see
+ * {@link com.stockbit.automation.runners.DeviceParallelStrategy}), so a lease normally never
+ * waits; if the platform starts an extra worker thread it waits here until a device frees up.
+ * A thread that keeps its session after a scenario parks its lease: it gets the device back
+ * on its next scenario, unless another thread needed a device in the meantime, in which case
+ * the parked session is quit and the device handed over. A lease that cannot be served within
+ * {@code device.lease.timeout.seconds} fails instead of blocking forever.
+ * Each device keeps a fixed index so its UiAutomator2 system port never clashes with another
+ * session on the same Appium server.
+ */
+public class DevicePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DevicePool.class);
+    private static final List<String> DEVICES = AppiumConfig.getDeviceNames();
+    private static final BlockingQueue<Device> AVAILABLE = new ArrayBlockingQueue<>(DEVICES.size());
+    private static final ThreadLocal<Lease> leaseThreadLocal = new ThreadLocal<>();
+    /** Leases of idle threads whose kept session may be taken over; guarded by the class lock. */
+    private static final List<Lease> PARKED = new ArrayList<>();
+    private static final long POLL_MILLIS = 500;
+
+    static {
+        for (int i = 0; i < DEVICES.size(); i++) {
+            AVAILABLE.add(new Device(DEVICES.get(i), i));
+        }
+    }
+
+    /**
+     * A device and its position in the configured list.
+     *
+     * @param serial adb serial (udid) of the device
+     * @param index  position in {@code device.names}, used to derive per-device ports
+     */
+    public record Device(String serial, int index) {
+
+        /**
+         * Gets the UiAutomator2 system port reserved for this device.
+         */
+        public int systemPort() {
+            return AppiumConfig.getSystemPortBase() + index;
+        }
+    }
+
+    /**
+     * A device held by one thread. Guarded by the class lock, except {@code active}, which
+     * only the owning thread reads and writes.
+     */
+    private static final class Lease {
+        private final Device device;
+        private Runnable onReclaim;
+        private boolean reclaimed;
+        private boolean active = true;
+
+        private Lease(Device device) {
+            this.device = device;
+        }
+    }
+
+    private DevicePool() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the number of configured devices.
+     *
+     * @return device count, at least 1
+     */
+    public static int size() {
+        return DEVICES.size();
+    }
+
+    /**
+     * Gets the device leased by the current thread, leasing one if needed. A parked lease is
+     * taken back; if its device was handed to another thread meanwhile, the thread's kept
+     * session is forgotten and a new device is leased. Waits while all devices are in use by
+     * other threads, up to {@code device.lease.timeout.seconds}.
+     *
+     * @return leased device
+     * @throws IllegalStateException if no device becomes free in time
+     */
+    public static Device lease() {
+        Lease lease = leaseThreadLocal.get();
+        if (lease != null) {
+            synchronized (DevicePool.class) {
+                if (!lease.reclaimed) {
+                    PARKED.remove(lease);
+                    lease.onReclaim = null;
+                    lease.active = true;
+                    return lease.device;
+                }
+            }
+            leaseThreadLocal.remove();
+            DriverManager.forgetSession();
+            logger.info("Device {} was handed to another thread while {} was idle",
+                    lease.device.serial(), Thread.currentThread().getName());
+        }
+        Device device = acquire();
+        leaseThreadLocal.set(new Lease(device));
+        logger.info("Leased device {} to {}", device.serial(), Thread.currentThread().getName());
+        return device;
+    }
+
+    /**
+     * Gets the device the current thread is using, without taking back a parked lease.
+     *
+     * @return leased device, or null if the thread holds none or has parked it
+     */
+    public static Device current() {
+        Lease lease = leaseThreadLocal.get();
+        return lease != null && lease.active ? lease.device : null;
+    }
+
+    /**
+     * Marks the current thread's device as idle while its session is kept for the next scenario.
+     * If another thread needs a device before this thread leases again, {@code onReclaim} is run
+     * on that thread to close the kept session and the device is handed over.
+     *
+     * @param onReclaim closes the kept session; must not touch thread-local state
+     */
+    public static void park(Runnable onReclaim) {
+        Lease lease = leaseThreadLocal.get();
+        if (lease == null) {
+            return;
+        }
+        lease.active = false;
+        synchronized (DevicePool.class) {
+            if (!lease.reclaimed && !PARKED.contains(lease)) {
+                lease.onReclaim = onReclaim;
+                PARKED.add(lease);
+            }
+        }
+    }
+
+    /**
+     * Returns the current thread's device to the pool, if it holds one.
+     */
+    public static void release() {
+        Lease lease = leaseThreadLocal.get();
+        if (lease == null) {
+            return;
+        }
+        leaseThreadLocal.remove();
+        synchronized (DevicePool.class) {
+            if (lease.reclaimed) {
+                // Already handed to another thread
+                return;
+            }
+            PARKED.remove(lease);
+        }
+        AVAILABLE.add(lease.device);
+        logger.debug("Released device {}", lease.device.serial());
+    }
+
+    private static Device acquire() {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(AppiumConfig.getDeviceLeaseTimeoutSeconds());
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (true) {
+                Device device = AVAILABLE.poll();
+                if (device == null) {
+                    device = reclaimParked();
+                }
+                if (device == null) {
+                    device = AVAILABLE.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (device != null) {
+                    return device;
+                }
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new IllegalStateException("No device became free within " + timeoutMillis / 1000
+                            + " s on " + Thread.currentThread().getName() + "; all " + DEVICES.size()
+                            + " devices (" + DEVICES + ") are running scenarios");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a free device", e);
+        }
+    }
+
+    /**
+     * Takes over the device of an idle thread, closing the session it kept.
+     */
+    private static Device reclaimParked() {
+        Lease lease;
+        Runnable onReclaim;
+        synchronized (DevicePool.class) {
+            if (PARKED.isEmpty()) {
+                return null;
+            }
+            lease = PARKED.remove(0);
+            lease.reclaimed = true;
+            onReclaim = lease.onReclaim;
+            lease.onReclaim = null;
+        }
+        logger.info("Taking over idle device {} for {}", lease.device.serial(), Thread.currentThread().getName());
+        if (onReclaim != null) {
+            try {
+                onReclaim.run();
+            } catch (Exception e) {
+                logger.warn("Could not close the kept session on {}: {}", lease.device.serial(), e.getMessage());
+            }
+        }
+        return lease.device;
+    }
+}
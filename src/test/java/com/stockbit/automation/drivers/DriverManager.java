@@ -3,12 +3,19 @@ package com.stockbit.automation.drivers;
 import com.stockbit.automation.config.AppiumConfig;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.android.options.UiAutomator2Options;
+import io.appium.java_client.proxy.Helpers;
+import io.appium.java_client.proxy.MethodCallListener;
+import org.openqa.selenium.Capabilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages AndroidDriver lifecycle using ThreadLocal for parallel execution support.
@@ -18,6 +25,8 @@ public class DriverManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static final ThreadLocal<AndroidDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<CommandTimingRecorder> timingRecorderThreadLocal = new ThreadLocal<>();
+    private static final Set<AndroidDriver> liveDrivers = ConcurrentHashMap.newKeySet();
 
     private DriverManager() {
         // Private constructor to prevent instantiation
@@ -25,7 +34,8 @@ public class DriverManager {
 
     /**
      * Initializes and returns the AndroidDriver instance.
-     * Creates a new driver if one doesn't exist for the current thread.
+     * Creates a new driver if one doesn't exist for the current thread. A session kept from
+     * the previous scenario must be taken back with {@link #resumeSession()} first.
      *
      * @return AndroidDriver instance
      */
@@ -36,16 +46,56 @@ public class DriverManager {
         return driverThreadLocal.get();
     }
 
+    /**
+     * Resumes the session this thread kept from its previous scenario.
+     *
+     * @return true if the kept session is still usable, false if there was none or its
+     *         device was handed to another thread while this thread was idle
+     */
+    public static boolean resumeSession() {
+        if (driverThreadLocal.get() == null) {
+            return false;
+        }
+        DevicePool.lease();
+        return driverThreadLocal.get() != null;
+    }
+
+    /**
+     * Keeps the current session for this thread's next scenario while letting another thread
+     * take the device over if it needs one first.
+     */
+    public static void parkSession() {
+        AndroidDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        DevicePool.park(() -> {
+            liveDrivers.remove(driver);
+            driver.quit();
+        });
+    }
+
+    /**
+     * Forgets this thread's session after its device was handed over; the session is already closed.
+     */
+    static void forgetSession() {
+        driverThreadLocal.remove();
+        timingRecorderThreadLocal.remove();
+    }
+
     /**
      * Initializes the AndroidDriver with UiAutomator2 options.
      */
     private static void initializeDriver() {
-        logger.info("Initializing AndroidDriver with UiAutomator2...");
+        DevicePool.Device device = DevicePool.lease();
+        logger.info("Initializing AndroidDriver with UiAutomator2 on {}...", device.serial());
 
         UiAutomator2Options options = new UiAutomator2Options()
                 .setPlatformName(AppiumConfig.getPlatformName())
                 .setAutomationName(AppiumConfig.getAutomationName())
-                .setDeviceName(AppiumConfig.getDeviceName())
+                .setDeviceName(device.serial())
+                .setUdid(device.serial())
+                .setSystemPort(device.systemPort())
                 .setApp(AppiumConfig.getAppPath())
                 .setNoReset(AppiumConfig.isNoReset())
                 .setFullReset(AppiumConfig.isFullReset())
@@ -64,11 +114,25 @@ public class DriverManager {
         options.setCapability("appium:disableWindowAnimation", true);
         options.setCapability("appium:adbExecTimeout", 60000);
 
+        // Server-side event timings for startup phase and command breakdown,
+        // and repeated idempotent queries answered from memory
+        List<MethodCallListener> listeners = new ArrayList<>();
+        if (AppiumConfig.isEventTimingsEnabled()) {
+            options.setCapability("appium:eventTimings", true);
+            CommandTimingRecorder recorder = new CommandTimingRecorder();
+            listeners.add(recorder);
+            timingRecorderThreadLocal.set(recorder);
+        }
+        if (AppiumConfig.isCommandCacheEnabled()) {
+            listeners.add(new CommandResponseCache());
+        }
+
         try {
             URL appiumServerUrl = new URL(AppiumConfig.getAppiumServerUrl());
-            AndroidDriver driver = new AndroidDriver(appiumServerUrl, options);
+            AndroidDriver driver = createDriver(appiumServerUrl, options, listeners);
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(AppiumConfig.getImplicitWait()));
             driverThreadLocal.set(driver);
+            liveDrivers.add(driver);
             logger.info("AndroidDriver initialized successfully");
         } catch (MalformedURLException e) {
             logger.error("Invalid Appium server URL: {}", e.getMessage());
@@ -77,15 +141,96 @@ public class DriverManager {
     }
 
     /**
-     * Quits the driver and removes it from ThreadLocal.
+     * Creates the driver directly, or as a listening proxy when command listeners are registered.
+     */
+    private static AndroidDriver createDriver(URL url, UiAutomator2Options options, List<MethodCallListener> listeners) {
+        if (listeners.isEmpty()) {
+            return new AndroidDriver(url, options);
+        }
+        return Helpers.createProxy(
+                AndroidDriver.class,
+                new Object[]{url, options},
+                new Class<?>[]{URL.class, Capabilities.class},
+                listeners
+        );
+    }
+
+    /**
+     * Builds the event timing report for the current session.
+     * Must be called before {@link #quitDriver()}, while the session is still alive.
+     *
+     * @return timing report, or null if event timings are disabled or unavailable
+     */
+    public static SessionTimingReport getSessionTimingReport() {
+        AndroidDriver driver = driverThreadLocal.get();
+        CommandTimingRecorder recorder = timingRecorderThreadLocal.get();
+        if (driver == null || recorder == null) {
+            return null;
+        }
+        try {
+            return new SessionTimingReport(driver.getEvents(), recorder.getCommands());
+        } catch (Exception e) {
+            logger.warn("Could not collect Appium event timings: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Gets the serial of the device used by the current thread, leasing one if needed.
+     *
+     * @return adb serial of the device
+     */
+    public static String getDeviceSerial() {
+        DevicePool.Device device = DevicePool.current();
+        return (device != null ? device : DevicePool.lease()).serial();
+    }
+
+    /**
+     * Quits the driver, removes it from ThreadLocal and returns the device to the pool.
      */
     public static void quitDriver() {
+        try {
+            quitCurrentSession();
+        } finally {
+            DevicePool.release();
+        }
+    }
+
+    /**
+     * Replaces the current session with a new one on the same device.
+     */
+    public static void restartSession() {
+        quitCurrentSession();
+        initializeDriver();
+    }
+
+    /**
+     * Quits every session still open, e.g. sessions kept alive across scenarios.
+     * Called once at the end of the run.
+     */
+    public static void quitAllDrivers() {
+        for (AndroidDriver driver : liveDrivers) {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.warn("Failed to quit driver: {}", e.getMessage());
+            }
+        }
+        liveDrivers.clear();
+    }
+
+    private static void quitCurrentSession() {
         AndroidDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            logger.info("Quitting AndroidDriver...");
-            driver.quit();
+        timingRecorderThreadLocal.remove();
+        try {
+            if (driver != null) {
+                logger.info("Quitting AndroidDriver...");
+                liveDrivers.remove(driver);
+                driver.quit();
+                logger.info("AndroidDriver quit successfully");
+            }
+        } finally {
             driverThreadLocal.remove();
-            logger.info("AndroidDriver quit successfully");
         }
     }
 
@@ -0,0 +1,99 @@
+package com.stockbit.automation.drivers;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.nativekey.AndroidKey;
+import io.appium.java_client.android.nativekey.KeyEvent;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Keeps the app under test in the foreground.
+ * <p>
+ * The happy path is a single focus query ({@code getCurrentPackage} reports the package of
+ * the focused window), so the guard is cheap enough to call before any step that is
+ * sensitive to overlays, not only in {@code @Before}. Only when another window has focus is
+ * the app brought back, and the guard then polls until the app's window actually has focus
+ * instead of sleeping for a fixed time. Known system dialogs are handed to
+ * {@link SystemDialogWatcher} first.
+ */
+public class ForegroundGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForegroundGuard.class);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(200);
+    private static final String SYSTEM_UI_PACKAGE = "com.android.systemui";
+
+    private ForegroundGuard() {
+        // Utility class
+    }
+
+    /**
+     * Ensures the configured app package has focus on the current driver.
+     *
+     * @return true if the app has focus when the call returns
+     */
+    public static boolean ensureForeground() {
+        return ensureForeground(DriverManager.getDriver());
+    }
+
+    /**
+     * Ensures the configured app package has focus.
+     * Overlays owned by System UI (notification shade, quick settings) are closed with BACK;
+     * anything else (launcher, another app) is replaced by reactivating the app.
+     *
+     * @param driver current driver
+     * @return true if the app has focus when the call returns
+     */
+    public static boolean ensureForeground(AndroidDriver driver) {
+        String appPackage = AppiumConfig.getAppPackage();
+        try {
+            String focused = driver.getCurrentPackage();
+            if (appPackage.equals(focused)) {
+                return true;
+            }
+            logger.info("App is not focused (focused package: {}), restoring {}", focused, appPackage);
+
+            // A permission, ANR or crash dialog is answered by policy rather than backed out of
+            if (SystemDialogWatcher.dismissIfPresent(driver, driver.getPageSource()) != null
+                    && awaitFocus(driver, appPackage, POLL_INTERVAL.multipliedBy(5))) {
+                return true;
+            }
+
+            if (SYSTEM_UI_PACKAGE.equals(focused)) {
+                driver.pressKey(new KeyEvent(AndroidKey.BACK));
+                if (awaitFocus(driver, appPackage, POLL_INTERVAL.multipliedBy(5))) {
+                    return true;
+                }
+            }
+
+            driver.activateApp(appPackage);
+            if (awaitFocus(driver, appPackage, Duration.ofSeconds(AppiumConfig.getForegroundWaitSeconds()))) {
+                logger.info("App is in foreground");
+                return true;
+            }
+            logger.warn("App did not regain focus, focused package: {}", driver.getCurrentPackage());
+        } catch (Exception e) {
+            logger.warn("Could not check/restore app foreground: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Polls the focused package until it is the app, or the timeout elapses.
+     */
+    private static boolean awaitFocus(AndroidDriver driver, String appPackage, Duration timeout) {
+        try {
+            new FluentWait<>(driver)
+                    .withTimeout(timeout)
+                    .pollingEvery(POLL_INTERVAL)
+                    .until(d -> appPackage.equals(d.getCurrentPackage()));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
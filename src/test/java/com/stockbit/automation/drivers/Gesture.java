@@ -0,0 +1,323 @@
+package com.stockbit.automation.drivers;
+
+import org.openqa.selenium.Point;
+import org.openqa.selenium.interactions.Interaction;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a touch interaction out of taps, strokes and pinches and sends it as one W3C
+ * {@code perform} request, however many steps it has.
+ * <p>
+ * Steps run one after the other. Each finger is a separate input source; sources a step does
+ * not use are padded with zero-length pauses, so all of them stay on the same tick. Long paths
+ * are decimated before they are sent: points that do not change the shape by more than
+ * {@link #PATH_TOLERANCE} pixels are dropped, and at most {@link #MAX_PATH_POINTS} remain.
+ * <pre>
+ * Gesture.create()
+ *         .repeatTap(plus, 3, Duration.ofMillis(100))
+ *         .polyline(List.of(a, b, c), Duration.ofMillis(600))
+ *         .perform(driver);
+ * </pre>
+ */
+public final class Gesture {
+
+    /** Maximum distance in pixels a dropped path point may be from the simplified path. */
+    static final double PATH_TOLERANCE = 2.0;
+    /** Maximum number of points sent for one path. */
+    static final int MAX_PATH_POINTS = 64;
+
+    private static final Duration TAP_HOLD = Duration.ofMillis(80);
+    private static final Duration MULTI_TAP_INTERVAL = Duration.ofMillis(60);
+    private static final int BEZIER_SAMPLES = 48;
+
+    private final List<Finger> fingers = new ArrayList<>();
+    private int ticks;
+
+    private static final class Finger {
+        private final PointerInput input;
+        private final Sequence sequence;
+        private int length;
+
+        private Finger(int number, int ticks) {
+            this.input = new PointerInput(PointerInput.Kind.TOUCH, "finger" + number);
+            this.sequence = new Sequence(input, ticks);
+            this.length = ticks;
+        }
+
+        private void move(Point point, Duration duration) {
+            add(input.createPointerMove(duration, PointerInput.Origin.viewport(), point.getX(), point.getY()));
+        }
+
+        private void down() {
+            add(input.createPointerDown(0));  // 0 for touch (not MouseButton)
+        }
+
+        private void up() {
+            add(input.createPointerUp(0));
+        }
+
+        private void pause(Duration duration) {
+            add(new Pause(input, duration));
+        }
+
+        private void add(Interaction action) {
+            sequence.addAction(action);
+            length++;
+        }
+    }
+
+    private Gesture() {
+    }
+
+    /**
+     * Starts an empty gesture.
+     */
+    public static Gesture create() {
+        return new Gesture();
+    }
+
+    /**
+     * Taps once at a point.
+     */
+    public Gesture tap(Point point) {
+        return repeatTap(point, 1, Duration.ZERO);
+    }
+
+    /**
+     * Taps once at screen coordinates.
+     */
+    public Gesture tap(int x, int y) {
+        return tap(new Point(x, y));
+    }
+
+    /**
+     * Taps in quick succession at one point, e.g. a double tap with {@code count} 2.
+     */
+    public Gesture multiTap(Point point, int count) {
+        return repeatTap(point, count, MULTI_TAP_INTERVAL);
+    }
+
+    /**
+     * Taps a number of times at one point with a pause between taps, e.g. to step a counter.
+     *
+     * @param point    tap position
+     * @param times    number of taps
+     * @param interval pause between two taps
+     */
+    public Gesture repeatTap(Point point, int times, Duration interval) {
+        Finger finger = finger(0);
+        for (int i = 0; i < times; i++) {
+            if (i > 0) {
+                finger.pause(interval);
+            }
+            finger.move(point, Duration.ZERO);
+            finger.down();
+            finger.pause(TAP_HOLD);
+            finger.up();
+        }
+        return align();
+    }
+
+    /**
+     * Draws a stroke through the points with one finger. Time is spread over the segments by
+     * their length.
+     *
+     * @param points   stroke points, at least one
+     * @param duration time from the first point to the last
+     */
+    public Gesture polyline(List<Point> points, Duration duration) {
+        List<Point> path = decimate(points);
+        Finger finger = finger(0);
+        finger.move(path.get(0), Duration.ZERO);
+        finger.down();
+        double total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            total += distance(path.get(i - 1), path.get(i));
+        }
+        for (int i = 1; i < path.size(); i++) {
+            double share = total == 0 ? 1.0 / (path.size() - 1) : distance(path.get(i - 1), path.get(i)) / total;
+            finger.move(path.get(i), Duration.ofMillis(Math.round(duration.toMillis() * share)));
+        }
+        finger.up();
+        return align();
+    }
+
+    /**
+     * Draws a cubic Bezier stroke with one finger.
+     *
+     * @param start    start point
+     * @param control1 first control point
+     * @param control2 second control point
+     * @param end      end point
+     * @param duration time from start to end
+     */
+    public Gesture bezier(Point start, Point control1, Point control2, Point end, Duration duration) {
+        List<Point> points = new ArrayList<>(BEZIER_SAMPLES + 1);
+        for (int i = 0; i <= BEZIER_SAMPLES; i++) {
+            double t = (double) i / BEZIER_SAMPLES;
+            double u = 1 - t;
+            double a = u * u * u;
+            double b = 3 * u * u * t;
+            double c = 3 * u * t * t;
+            double d = t * t * t;
+            points.add(new Point(
+                    (int) Math.round(a * start.getX() + b * control1.getX() + c * control2.getX() + d * end.getX()),
+                    (int) Math.round(a * start.getY() + b * control1.getY() + c * control2.getY() + d * end.getY())));
+        }
+        return polyline(points, duration);
+    }
+
+    /**
+     * Pinches with two fingers moving horizontally around a center: apart to zoom in when
+     * {@code toDistance} is larger, together to zoom out when it is smaller.
+     *
+     * @param center       point between the fingers
+     * @param fromDistance distance between the fingers at the start
+     * @param toDistance   distance between the fingers at the end
+     * @param duration     time of the movement
+     */
+    public Gesture pinch(Point center, int fromDistance, int toDistance, Duration duration) {
+        Finger left = finger(0);
+        Finger right = finger(1);
+        left.move(center.moveBy(-fromDistance / 2, 0), Duration.ZERO);
+        right.move(center.moveBy(fromDistance / 2, 0), Duration.ZERO);
+        left.down();
+        right.down();
+        left.move(center.moveBy(-toDistance / 2, 0), duration);
+        right.move(center.moveBy(toDistance / 2, 0), duration);
+        left.up();
+        right.up();
+        return align();
+    }
+
+    /**
+     * Waits before the next step.
+     */
+    public Gesture pause(Duration duration) {
+        finger(0).pause(duration);
+        return align();
+    }
+
+    /**
+     * Sends the whole gesture as one request.
+     *
+     * @param driver driver of the session
+     */
+    public void perform(Interactive driver) {
+        if (fingers.isEmpty()) {
+            return;
+        }
+        List<Sequence> sequences = new ArrayList<>(fingers.size());
+        for (Finger finger : fingers) {
+            sequences.add(finger.sequence);
+        }
+        driver.perform(sequences);
+    }
+
+    private Finger finger(int index) {
+        while (fingers.size() <= index) {
+            // A finger joining later waits through the ticks already used
+            fingers.add(new Finger(fingers.size() + 1, ticks));
+        }
+        return fingers.get(index);
+    }
+
+    private Gesture align() {
+        for (Finger finger : fingers) {
+            ticks = Math.max(ticks, finger.length);
+        }
+        for (Finger finger : fingers) {
+            while (finger.length < ticks) {
+                finger.pause(Duration.ZERO);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Simplifies a path with Ramer-Douglas-Peucker, then thins it evenly to at most
+     * {@link #MAX_PATH_POINTS} points. The first and last points are always kept.
+     */
+    static List<Point> decimate(List<Point> points) {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("A path needs at least one point");
+        }
+        if (points.size() <= 2) {
+            return points;
+        }
+        boolean[] keep = new boolean[points.size()];
+        keep[0] = true;
+        keep[points.size() - 1] = true;
+        simplify(points, 0, points.size() - 1, keep);
+        List<Point> kept = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            if (keep[i]) {
+                kept.add(points.get(i));
+            }
+        }
+        if (kept.size() <= MAX_PATH_POINTS) {
+            return kept;
+        }
+        List<Point> thinned = new ArrayList<>(MAX_PATH_POINTS);
+        double step = (kept.size() - 1) / (double) (MAX_PATH_POINTS - 1);
+        for (int i = 0; i < MAX_PATH_POINTS; i++) {
+            thinned.add(kept.get((int) Math.round(i * step)));
+        }
+        return thinned;
+    }
+
+    private static void simplify(List<Point> points, int first, int last, boolean[] keep) {
+        // Iterative, so very long paths cannot overflow the stack
+        int[] stack = new int[2 * points.size()];
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            double farthest = 0;
+            int index = -1;
+            for (int i = start + 1; i < end; i++) {
+                double d = distanceToSegment(points.get(i), points.get(start), points.get(end));
+                if (d > farthest) {
+                    farthest = d;
+                    index = i;
+                }
+            }
+            if (index >= 0 && farthest > PATH_TOLERANCE) {
+                keep[index] = true;
+                stack[top++] = start;
+                stack[top++] = index;
+                stack[top++] = index;
+                stack[top++] = end;
+            }
+        }
+    }
+
+    private static double distanceToSegment(Point p, Point a, Point b) {
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return distance(p, a);
+        }
+        double t = ((p.getX() - a.getX()) * dx + (p.getY() - a.getY()) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double x = a.getX() + t * dx - p.getX();
+        double y = a.getY() + t * dy - p.getY();
+        return Math.sqrt(x * x + y * y);
+    }
+
+    private static double distance(Point a, Point b) {
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,206 @@
+package com.stockbit.automation.drivers;
+
+import io.appium.java_client.serverevents.CommandEvent;
+import io.appium.java_client.serverevents.ServerEvents;
+import io.appium.java_client.serverevents.TimedEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Breaks an Appium session down into startup phases and per-command server vs. transport time.
+ * Built from the server-side {@code eventTimings} log and the client-side {@link CommandTimingRecorder}.
+ */
+public class SessionTimingReport {
+
+    static final String PHASE_APK_INSTALL = "APK install";
+    static final String PHASE_SERVER_INSTALL = "UiAutomator2 server install";
+    static final String PHASE_SERVER_LAUNCH = "UiAutomator2 server launch";
+    static final String PHASE_APP_LAUNCH = "App launch";
+    static final String PHASE_OTHER = "Other startup";
+
+    /** Allowed difference between the client and server clocks when pairing commands. */
+    private static final long CLOCK_TOLERANCE_MILLIS = 50;
+
+    private final List<Milestone> timeline = new ArrayList<>();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, CommandBreakdown> commands = new LinkedHashMap<>();
+    private int unmatchedCommands;
+
+    private record Milestone(String name, long timestamp, long sincePrevious) {
+    }
+
+    /**
+     * Aggregated timing for one WebDriver command name.
+     */
+    public static class CommandBreakdown {
+        private int count;
+        private double clientMillis;
+        private double serverMillis;
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getClientMillis() {
+            return clientMillis;
+        }
+
+        public double getServerMillis() {
+            return serverMillis;
+        }
+
+        public double getTransportMillis() {
+            return Math.max(0, clientMillis - serverMillis);
+        }
+    }
+
+    public SessionTimingReport(ServerEvents serverEvents, List<CommandTimingRecorder.ClientCommand> clientCommands) {
+        phases.put(PHASE_APK_INSTALL, 0L);
+        phases.put(PHASE_SERVER_INSTALL, 0L);
+        phases.put(PHASE_SERVER_LAUNCH, 0L);
+        phases.put(PHASE_APP_LAUNCH, 0L);
+        phases.put(PHASE_OTHER, 0L);
+        buildStartupPhases(serverEvents.events);
+        buildCommandBreakdown(serverEvents.commands, clientCommands);
+    }
+
+    /**
+     * Orders every event occurrence and charges the gap since the previous milestone to the
+     * phase the milestone completes, e.g. the time before "appInstalled" is APK install time.
+     */
+    private void buildStartupPhases(List<TimedEvent> events) {
+        List<long[]> occurrences = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (TimedEvent event : events) {
+            for (Long occurrence : event.occurrences) {
+                occurrences.add(new long[]{occurrence, names.size()});
+                names.add(event.name);
+            }
+        }
+        occurrences.sort(Comparator.comparingLong(o -> o[0]));
+
+        long previous = -1;
+        for (long[] occurrence : occurrences) {
+            String name = names.get((int) occurrence[1]);
+            long sincePrevious = previous < 0 ? 0 : occurrence[0] - previous;
+            timeline.add(new Milestone(name, occurrence[0], sincePrevious));
+            phases.merge(classify(name), sincePrevious, Long::sum);
+            previous = occurrence[0];
+        }
+    }
+
+    /**
+     * Pairs each client command with a server command that started while the client waited for
+     * it, preferring the same command name and then the closest start. Commands sent
+     * concurrently by other threads (filmstrip, forensics, dialog watcher) therefore do not
+     * shift the pairing, and server commands outside every client window, such as
+     * {@code createSession}, are never charged.
+     */
+    private void buildCommandBreakdown(List<CommandEvent> serverCommands, List<CommandTimingRecorder.ClientCommand> clientCommands) {
+        List<CommandEvent> unpaired = new ArrayList<>(serverCommands);
+        List<CommandTimingRecorder.ClientCommand> ordered = new ArrayList<>(clientCommands);
+        ordered.sort(Comparator.comparingLong(CommandTimingRecorder.ClientCommand::startTimestamp));
+
+        for (CommandTimingRecorder.ClientCommand client : ordered) {
+            CommandBreakdown breakdown = commands.computeIfAbsent(client.name(), k -> new CommandBreakdown());
+            breakdown.count++;
+            breakdown.clientMillis += client.durationMillis();
+            CommandEvent server = closestServerCommand(client, unpaired);
+            if (server != null) {
+                unpaired.remove(server);
+                breakdown.serverMillis += server.endTimestamp - server.startTimestamp;
+            } else {
+                unmatchedCommands++;
+            }
+        }
+    }
+
+    private static CommandEvent closestServerCommand(CommandTimingRecorder.ClientCommand client, List<CommandEvent> candidates) {
+        long windowStart = client.startTimestamp() - CLOCK_TOLERANCE_MILLIS;
+        long windowEnd = client.startTimestamp() + (long) Math.ceil(client.durationMillis()) + CLOCK_TOLERANCE_MILLIS;
+        return candidates.stream()
+                .filter(server -> server.startTimestamp >= windowStart && server.startTimestamp <= windowEnd)
+                .min(Comparator.comparing((CommandEvent server) -> !sameCommand(client.name(), server.name))
+                        .thenComparingLong(server -> Math.abs(server.startTimestamp - client.startTimestamp())))
+                .orElse(null);
+    }
+
+    /**
+     * Whether a server command name denotes the client command, e.g. {@code execute} for
+     * {@code executeScript}.
+     */
+    static boolean sameCommand(String clientName, String serverName) {
+        if (serverName == null) {
+            return false;
+        }
+        return clientName.toLowerCase(Locale.ROOT).startsWith(serverName.toLowerCase(Locale.ROOT));
+    }
+
+    static String classify(String eventName) {
+        String name = eventName.toLowerCase(Locale.ROOT);
+        boolean server = name.contains("server") || name.contains("uiautomator");
+        if (server && name.contains("install")) {
+            return PHASE_SERVER_INSTALL;
+        }
+        if (server && (name.contains("launch") || name.contains("start"))) {
+            return PHASE_SERVER_LAUNCH;
+        }
+        if (name.contains("install") || name.contains("apk")) {
+            return PHASE_APK_INSTALL;
+        }
+        if ((name.contains("app") || name.contains("activity"))
+                && (name.contains("launch") || name.contains("start"))) {
+            return PHASE_APP_LAUNCH;
+        }
+        return PHASE_OTHER;
+    }
+
+    /**
+     * Gets startup phase durations in milliseconds, keyed by phase name.
+     */
+    public Map<String, Long> getStartupPhases() {
+        return phases;
+    }
+
+    /**
+     * Gets per-command timing keyed by WebDriver command name.
+     */
+    public Map<String, CommandBreakdown> getCommandBreakdown() {
+        return commands;
+    }
+
+    /**
+     * Renders the report as plain text for logs and report attachments.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        out.append("Session startup phases (ms)\n");
+        phases.forEach((phase, millis) -> out.append(String.format("  %-28s %8d%n", phase, millis)));
+
+        out.append("\nServer event timeline\n");
+        for (Milestone milestone : timeline) {
+            out.append(String.format("  %-40s %15d  +%d ms%n", milestone.name(), milestone.timestamp(), milestone.sincePrevious()));
+        }
+
+        double client = 0;
+        double server = 0;
+        out.append("\nCommands: count / client / server / transport (ms)\n");
+        for (Map.Entry<String, CommandBreakdown> entry : commands.entrySet()) {
+            CommandBreakdown b = entry.getValue();
+            client += b.clientMillis;
+            server += b.serverMillis;
+            out.append(String.format("  %-28s %5d %10.1f %10.1f %10.1f%n",
+                    entry.getKey(), b.count, b.clientMillis, b.serverMillis, b.getTransportMillis()));
+        }
+        out.append(String.format("  %-28s %5s %10.1f %10.1f %10.1f%n", "TOTAL", "", client, server, Math.max(0, client - server)));
+        if (unmatchedCommands > 0) {
+            out.append(String.format("  (%d client commands had no matching server event)%n", unmatchedCommands));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,288 @@
+package com.stockbit.automation.drivers;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Recognizes known system dialogs (runtime permissions, ANR, "app keeps stopping") and
+ * dismisses them according to the configured policy.
+ * <p>
+ * Each check reads the hierarchy once, never through an implicit wait, and identifies the
+ * dialog from its resource ids, or for permission prompts with unknown ids from their button
+ * texts. The focused package is no shortcut: ANR and "keeps stopping" dialogs are system
+ * windows that can be shown while the app's package still reports focus. The check runs
+ * from hooks and page objects, can wait a bounded time for a dialog that is expected to
+ * appear ({@link #awaitAndDismiss}), and can additionally be polled on a background thread
+ * with {@code dialog.watcher.interval.ms}.
+ */
+public class SystemDialogWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemDialogWatcher.class);
+    private static final Pattern RESOURCE_ID = Pattern.compile("resource-id=\"([^\"]+)\"");
+    private static final Pattern TEXT = Pattern.compile("text=\"([^\"]+)\"");
+    private static final long AWAIT_POLL_MS = 250;
+
+    private static final String PERMISSION_PREFIX = "com.android.permissioncontroller:id/";
+    private static final String LEGACY_PERMISSION_PREFIX = "com.android.packageinstaller:id/";
+    private static final String ANR_WAIT = "android:id/aerr_wait";
+    private static final String ERROR_CLOSE = "android:id/aerr_close";
+    private static final String ERROR_RESTART = "android:id/aerr_restart";
+
+    private static final List<String> PERMISSION_ALLOW = List.of(
+            "permission_allow_foreground_only_button",
+            "permission_allow_button",
+            "permission_allow_one_time_button"
+    );
+    private static final List<String> PERMISSION_DENY = List.of(
+            "permission_deny_button",
+            "permission_deny_and_dont_ask_again_button"
+    );
+
+    /** Button texts used when the permission controller's ids are not the stock ones. */
+    private static final List<String> PERMISSION_ALLOW_TEXTS = List.of(
+            "While using the app", "Allow", "ALLOW", "Only this time"
+    );
+    private static final List<String> PERMISSION_DENY_TEXTS = List.of(
+            "Don't allow", "Deny", "DENY"
+    );
+
+    /**
+     * Kind of system dialog recognized in front of the app.
+     */
+    public enum DialogType {
+        PERMISSION,
+        ANR,
+        CRASH
+    }
+
+    private final AndroidDriver driver;
+    private ScheduledExecutorService poller;
+
+    /**
+     * @param driver driver of the session to watch
+     */
+    public SystemDialogWatcher(AndroidDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Starts polling in the background when {@code dialog.watcher.interval.ms} is positive.
+     * Each tick costs one hierarchy read.
+     */
+    public void start() {
+        long interval = AppiumConfig.getDialogWatcherIntervalMs();
+        if (interval <= 0 || poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dialog-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> dismissIfPresent(driver), interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug("System dialog watcher polling every {} ms", interval);
+    }
+
+    /**
+     * Stops background polling. Must be called before the session is closed.
+     */
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            try {
+                poller.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            poller = null;
+        }
+    }
+
+    /**
+     * Dismisses a known system dialog if one is in front of the app.
+     *
+     * @param driver current driver
+     * @return the dialog that was handled, or null if none was found
+     */
+    public static DialogType dismissIfPresent(AndroidDriver driver) {
+        try {
+            return dismissIfPresent(driver, driver.getPageSource());
+        } catch (Exception e) {
+            logger.debug("System dialog check failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Polls for a known system dialog until one is handled or the window runs out, for
+     * dialogs that appear a moment after the action that triggers them.
+     *
+     * @param driver current driver
+     * @param window maximum time to wait for a dialog
+     * @return the dialog that was handled, or null if none appeared
+     */
+    public static DialogType awaitAndDismiss(AndroidDriver driver, Duration window) {
+        long deadline = System.nanoTime() + window.toNanos();
+        while (true) {
+            DialogType type = dismissIfPresent(driver);
+            if (type != null || System.nanoTime() >= deadline) {
+                return type;
+            }
+            try {
+                Thread.sleep(AWAIT_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Dismisses a known system dialog found in an already captured hierarchy snapshot.
+     *
+     * @param driver     current driver
+     * @param pageSource hierarchy XML returned by {@code getPageSource}
+     * @return the dialog that was handled, or null if none was recognized
+     */
+    public static DialogType dismissIfPresent(AndroidDriver driver, String pageSource) {
+        Set<String> ids = resourceIds(pageSource);
+        Set<String> texts = attributeValues(TEXT, pageSource);
+        DialogType type = recognize(ids);
+        if (type == null && containsAny(texts, PERMISSION_ALLOW_TEXTS) && containsAny(texts, PERMISSION_DENY_TEXTS)) {
+            type = DialogType.PERMISSION;
+        }
+        if (type == null) {
+            return null;
+        }
+        String button = buttonFor(type, ids);
+        List<WebElement> elements;
+        if (button != null) {
+            elements = driver.findElements(AppiumBy.id(button));
+        } else {
+            button = textButtonFor(type, texts);
+            if (button == null) {
+                logger.warn("{} dialog shown but policy '{}' has no matching button", type, policyFor(type));
+                return type;
+            }
+            elements = driver.findElements(AppiumBy.androidUIAutomator("new UiSelector().text(\"" + button + "\")"));
+        }
+        if (!elements.isEmpty()) {
+            elements.get(0).click();
+            logger.info("Dismissed {} dialog with {} ({})", type, button, policyFor(type));
+        }
+        return type;
+    }
+
+    /**
+     * Identifies the dialog from the resource ids present in the hierarchy.
+     *
+     * @param ids resource ids of the current hierarchy
+     * @return dialog type, or null if no known dialog is present
+     */
+    static DialogType recognize(Set<String> ids) {
+        for (String id : ids) {
+            if (id.startsWith(PERMISSION_PREFIX) || id.startsWith(LEGACY_PERMISSION_PREFIX)) {
+                return DialogType.PERMISSION;
+            }
+        }
+        if (ids.contains(ANR_WAIT)) {
+            return DialogType.ANR;
+        }
+        if (ids.contains(ERROR_CLOSE) || ids.contains(ERROR_RESTART)) {
+            return DialogType.CRASH;
+        }
+        return null;
+    }
+
+    /**
+     * Picks the resource id of the button that carries out the configured policy.
+     */
+    private static String buttonFor(DialogType type, Set<String> ids) {
+        String policy = policyFor(type);
+        List<String> candidates = switch (type) {
+            case PERMISSION -> "deny".equalsIgnoreCase(policy)
+                    ? prefixed(PERMISSION_DENY)
+                    : prefixed(PERMISSION_ALLOW);
+            case ANR -> "close".equalsIgnoreCase(policy) ? List.of(ERROR_CLOSE) : List.of(ANR_WAIT);
+            case CRASH -> "restart".equalsIgnoreCase(policy) ? List.of(ERROR_RESTART) : List.of(ERROR_CLOSE);
+        };
+        for (String candidate : candidates) {
+            if (ids.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the button text that carries out the configured policy, for permission prompts
+     * whose buttons do not carry the stock resource ids.
+     */
+    private static String textButtonFor(DialogType type, Set<String> texts) {
+        if (type != DialogType.PERMISSION) {
+            return null;
+        }
+        List<String> candidates = "deny".equalsIgnoreCase(policyFor(type)) ? PERMISSION_DENY_TEXTS : PERMISSION_ALLOW_TEXTS;
+        for (String candidate : candidates) {
+            if (texts.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsAny(Set<String> values, List<String> candidates) {
+        for (String candidate : candidates) {
+            if (values.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> prefixed(List<String> names) {
+        return names.stream()
+                .flatMap(name -> Stream.of(PERMISSION_PREFIX + name, LEGACY_PERMISSION_PREFIX + name))
+                .toList();
+    }
+
+    private static String policyFor(DialogType type) {
+        return switch (type) {
+            case PERMISSION -> AppiumConfig.getPermissionDialogPolicy();
+            case ANR -> AppiumConfig.getAnrDialogPolicy();
+            case CRASH -> AppiumConfig.getCrashDialogPolicy();
+        };
+    }
+
+    private static Set<String> resourceIds(String pageSource) {
+        return attributeValues(RESOURCE_ID, pageSource);
+    }
+
+    private static Set<String> attributeValues(Pattern attribute, String pageSource) {
+        Set<String> values = new HashSet<>();
+        if (pageSource == null) {
+            return values;
+        }
+        Matcher matcher = attribute.matcher(pageSource);
+        while (matcher.find()) {
+            // The hierarchy XML escapes apostrophes, e.g. in "Don't allow"
+            values.add(matcher.group(1).replace("&apos;", "'").replace("&#39;", "'"));
+        }
+        return values;
+    }
+}
@@ -1,21 +1,30 @@
 package com.stockbit.automation.hooks;
 
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.context.PrefixExecution;
+import com.stockbit.automation.context.ScenarioCheckpoints;
 import com.stockbit.automation.context.TestContext;
 import com.stockbit.automation.drivers.DriverManager;
-import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.android.nativekey.AndroidKey;
-import io.appium.java_client.android.nativekey.KeyEvent;
+import com.stockbit.automation.drivers.ForegroundGuard;
+import com.stockbit.automation.drivers.SessionTimingReport;
+import com.stockbit.automation.drivers.SystemDialogWatcher;
+import com.stockbit.automation.pages.AppReset;
+import com.stockbit.automation.pages.CatalogPage;
+import com.stockbit.automation.reporting.ForensicsCollector;
+import com.stockbit.automation.reporting.LogcatCollector;
+import com.stockbit.automation.reporting.ScreenRecorder;
+import com.stockbit.automation.reporting.ScreenshotPipeline;
+import com.stockbit.automation.reporting.StepFilmstrip;
 import io.cucumber.java.After;
 import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import io.qameta.allure.Allure;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 /**
  * Cucumber Hooks for setup and teardown operations.
@@ -24,10 +33,30 @@ import java.io.ByteArrayInputStream;
 public class Hooks {
 
     private static final Logger logger = LoggerFactory.getLogger(Hooks.class);
+    private static final Duration ATTACHMENT_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration FILMSTRIP_FRAME_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration RECORDING_TRANSFER_TIMEOUT = Duration.ofSeconds(60);
     private final TestContext testContext;
+    private final ScreenshotPipeline screenshotPipeline = new ScreenshotPipeline();
+    private final StepFilmstrip filmstrip;
+    private final ScreenRecorder screenRecorder;
+    private final ForensicsCollector forensicsCollector;
+    private SystemDialogWatcher dialogWatcher;
+    private LogcatCollector logcat;
+    private long logcatScenarioStart;
+    private int stepIndex;
 
     public Hooks(TestContext testContext) {
         this.testContext = testContext;
+        int filmstripFrames = AppiumConfig.getFilmstripFrames();
+        this.filmstrip = filmstripFrames > 0
+                ? new StepFilmstrip(filmstripFrames, AppiumConfig.getFilmstripFrameWidth())
+                : null;
+        this.screenRecorder = AppiumConfig.isRecordingEnabled() ? new ScreenRecorder() : null;
+        this.forensicsCollector = AppiumConfig.isForensicsEnabled()
+                ? new ForensicsCollector(Duration.ofSeconds(AppiumConfig.getForensicsDeadlineSeconds()),
+                        AppiumConfig.getForensicsLogcatLines())
+                : null;
     }
 
     /**
@@ -43,41 +72,54 @@ public class Hooks {
         logger.info("Tags: {}", scenario.getSourceTagNames());
         logger.info("========================================");
 
+        // Mark the scenario start in the app log stream so a failure can slice out its lines
+        if (AppiumConfig.isLogcatEnabled()) {
+            logcat = LogcatCollector.forDevice(DriverManager.getDeviceSerial());
+            logcatScenarioStart = logcat.mark("Scenario: " + scenario.getName());
+        }
+
         // Initialize driver - this will start the app
+        boolean reusedSession = DriverManager.resumeSession();
         testContext.getDriver();
+        if (!reusedSession) {
+            CatalogPage.resetArrangement();
+        }
+
+        // A session kept from the previous scenario is isolated by the cheapest sufficient reset
+        if (reusedSession && !PrefixExecution.isEnabled()) {
+            new AppReset(DriverManager.getDriver()).resetFor(scenario.getSourceTagNames());
+        }
+
+        // A kept session resumes from the deepest checkpoint of this scenario's prefix
+        if (PrefixExecution.isEnabled()) {
+            PrefixExecution.prepareScenario(testContext);
+        }
         
         // Dismiss any system overlays (notification shade, quick settings)
-        dismissSystemOverlays();
+        ForegroundGuard.ensureForeground();
+
+        // A retry of a failed scenario resumes from the last checkpoint it saved
+        if (ScenarioCheckpoints.isEnabled()) {
+            ScenarioCheckpoints.beginScenario(scenario.getUri() + ":" + scenario.getLine(), testContext);
+        }
+
+        // Optional background polling for permission/ANR/crash dialogs
+        dialogWatcher = new SystemDialogWatcher(DriverManager.getDriver());
+        dialogWatcher.start();
+
+        // The app process was (re)started with the session
+        if (logcat != null) {
+            logcat.refreshPids();
+        }
+
+        // Record the scenario; the video is only pulled if the scenario fails
+        if (screenRecorder != null) {
+            screenRecorder.start(DriverManager.getDriver());
+        }
 
         logger.info("Driver initialized successfully for scenario: {}", scenario.getName());
     }
     
-    /**
-     * Ensures the app is in foreground and dismisses any system overlays.
-     * This is important because if the notification shade is open, element searches will fail.
-     */
-    private void dismissSystemOverlays() {
-        try {
-            AndroidDriver driver = DriverManager.getDriver();
-            
-            // Check if the app is in foreground by checking the current package
-            String currentPackage = driver.getCurrentPackage();
-            logger.info("Current package: {}", currentPackage);
-            
-            // If system UI is showing, activate the app
-            if (currentPackage != null && (currentPackage.contains("systemui") || 
-                currentPackage.contains("launcher") || !currentPackage.contains("saucelabs"))) {
-                logger.info("System UI or launcher is showing, activating app...");
-                driver.activateApp("com.saucelabs.mydemoapp.android");
-                Thread.sleep(1000);
-            }
-            
-            logger.info("App is in foreground");
-        } catch (Exception e) {
-            logger.warn("Could not check/dismiss system overlays: {}", e.getMessage());
-        }
-    }
-
     /**
      * Runs after each scenario.
      * Captures screenshot on failure and quits driver.
@@ -93,16 +135,70 @@ public class Hooks {
 
         try {
             if (scenario.isFailed() && DriverManager.isDriverInitialized()) {
-                captureScreenshot(scenario, "Failure Screenshot");
+                // Pull the recording in the background while the screenshot is taken
+                if (screenRecorder != null) {
+                    screenRecorder.keepAsync(DriverManager.getDriver(), "Failure Recording");
+                }
+                if (forensicsCollector != null) {
+                    collectForensics();
+                } else {
+                    captureScreenshot("Failure Screenshot");
+                }
             }
         } catch (Exception e) {
-            logger.error("Error capturing screenshot: {}", e.getMessage());
+            logger.error("Error capturing failure evidence: {}", e.getMessage());
         } finally {
+            // No more background commands once teardown starts using the session
+            if (dialogWatcher != null) {
+                dialogWatcher.stop();
+            }
+
+            // Attach Appium event timings while the session is still alive
+            attachSessionTimings(scenario);
+
+            // Let the last filmstrip frame finish before the session goes away
+            if (filmstrip != null) {
+                filmstrip.awaitPending(FILMSTRIP_FRAME_TIMEOUT);
+            }
+
+            // A failed scenario's recording must be pulled before quitting; a passed one is dropped
+            if (screenRecorder != null) {
+                screenRecorder.awaitTransfer(RECORDING_TRANSFER_TIMEOUT);
+                screenRecorder.discard();
+            }
+
+            // A failed scenario keeps its checkpoints for the retry
+            if (ScenarioCheckpoints.isEnabled()) {
+                ScenarioCheckpoints.endScenario(scenario.isFailed());
+            }
+
             // Clean up context
             testContext.clearContext();
 
-            // Quit driver
-            DriverManager.quitDriver();
+            // Quit driver; with prefix sharing or session reuse a passed scenario leaves its session for the next one
+            boolean keepSession = PrefixExecution.isEnabled() || AppiumConfig.isSessionReuseEnabled();
+            if (!keepSession || scenario.isFailed()) {
+                DriverManager.quitDriver();
+            } else {
+                DriverManager.parkSession();
+            }
+
+            // Screenshots are processed in the background while the session shuts down
+            screenshotPipeline.flush(scenario, ATTACHMENT_FLUSH_TIMEOUT);
+
+            // App log lines of a failed scenario are already in memory
+            if (logcat != null && scenario.isFailed()) {
+                attachScenarioLogcat(scenario);
+            }
+
+            // Filmstrip is only worth keeping for failed scenarios
+            if (filmstrip != null) {
+                if (scenario.isFailed()) {
+                    filmstrip.attach(scenario);
+                } else {
+                    filmstrip.discard();
+                }
+            }
         }
     }
 
@@ -115,8 +211,26 @@ public class Hooks {
     @AfterStep
     public void afterStep(Scenario scenario) {
         // Capture screenshot after each step for debugging (optional)
-        // Uncomment below line if needed
-        // captureScreenshot(scenario, "Step Screenshot");
+        // Enable with screenshot.step=true; processing happens off the test thread
+        if (AppiumConfig.isStepScreenshotEnabled()) {
+            screenshotPipeline.attachCompleted(scenario);
+            captureScreenshot("Step Screenshot");
+        }
+
+        stepIndex++;
+        if (logcat != null) {
+            logcat.mark("End of step " + stepIndex + " (" + scenario.getStatus() + ")");
+        }
+
+        // A long scenario continues in a new recording segment instead of hitting the size cap
+        if (screenRecorder != null && DriverManager.isDriverInitialized()) {
+            screenRecorder.rollOverIfDue(DriverManager.getDriver());
+        }
+
+        // Cheap in-memory frame for the failure filmstrip
+        if (filmstrip != null && DriverManager.isDriverInitialized()) {
+            filmstrip.captureAsync(DriverManager.getDriver());
+        }
 
         if (scenario.isFailed()) {
             logger.error("Step failed in scenario: {}", scenario.getName());
@@ -124,29 +238,77 @@ public class Hooks {
     }
 
     /**
-     * Captures screenshot and attaches to Allure report and Cucumber report.
+     * Collects the failure forensics bundle. The bundle's screenshot doubles as the
+     * failure screenshot so the device is only asked for it once.
+     */
+    private void collectForensics() {
+        ForensicsCollector.Bundle bundle = logcat != null
+                ? forensicsCollector.collect(DriverManager.getDriver(), this::scenarioLogcat)
+                : forensicsCollector.collect(DriverManager.getDriver());
+        if (bundle.screenshotBase64() != null) {
+            screenshotPipeline.submit("Failure Screenshot", bundle.screenshotBase64());
+        }
+        forensicsCollector.attachAsync(bundle, "Failure Forensics");
+    }
+
+    /**
+     * Gets the app log lines written since this scenario started.
+     */
+    private String scenarioLogcat() {
+        return logcat.slice(logcatScenarioStart);
+    }
+
+    /**
+     * Attaches this scenario's app log lines to the Allure and Cucumber reports.
      *
-     * @param scenario   Current Cucumber scenario
-     * @param screenshotName Name for the screenshot
+     * @param scenario Current Cucumber scenario
      */
-    private void captureScreenshot(Scenario scenario, String screenshotName) {
+    private void attachScenarioLogcat(Scenario scenario) {
         try {
-            if (DriverManager.isDriverInitialized()) {
-                byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver())
-                        .getScreenshotAs(OutputType.BYTES);
-
-                // Attach to Cucumber report
-                scenario.attach(screenshot, "image/png", screenshotName);
+            String text = scenarioLogcat();
+            scenario.attach(text.getBytes(StandardCharsets.UTF_8), "text/plain", "App Logcat");
+            Allure.addAttachment("App Logcat", "text/plain", text, ".txt");
+        } catch (Exception e) {
+            logger.warn("Failed to attach app logcat: {}", e.getMessage());
+        }
+    }
 
-                // Attach to Allure report
-                Allure.addAttachment(screenshotName, "image/png",
-                        new ByteArrayInputStream(screenshot), ".png");
+    /**
+     * Attaches the Appium session timing breakdown when event timings are enabled.
+     *
+     * @param scenario Current Cucumber scenario
+     */
+    private void attachSessionTimings(Scenario scenario) {
+        if (!AppiumConfig.isEventTimingsEnabled() || !DriverManager.isDriverInitialized()) {
+            return;
+        }
+        try {
+            SessionTimingReport report = DriverManager.getSessionTimingReport();
+            if (report == null) {
+                return;
+            }
+            String text = report.render();
+            logger.info("Appium session timings:\n{}", text);
+            scenario.attach(text.getBytes(StandardCharsets.UTF_8), "text/plain", "Appium Event Timings");
+            Allure.addAttachment("Appium Event Timings", "text/plain", text, ".txt");
+        } catch (Exception e) {
+            logger.warn("Failed to attach session timings: {}", e.getMessage());
+        }
+    }
 
-                logger.info("Screenshot captured: {}", screenshotName);
+    /**
+     * Captures screenshot and queues it for the Allure and Cucumber reports.
+     * Only the device round trip happens on the test thread.
+     *
+     * @param screenshotName Name for the screenshot
+     */
+    private void captureScreenshot(String screenshotName) {
+        try {
+            if (DriverManager.isDriverInitialized()) {
+                screenshotPipeline.capture(DriverManager.getDriver(), screenshotName);
             }
         } catch (Exception e) {
             logger.error("Failed to capture screenshot: {}", e.getMessage());
         }
     }
 }
-
@@ -27,12 +27,7 @@ public class AboutPage extends BasePage {
      * Checks if About page is displayed.
      */
     public boolean isAboutPageDisplayed() {
-        waitFor(2);
-        try {
-            return isDisplayed(aboutTitle);
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.ABOUT);
     }
 
     /**
@@ -0,0 +1,226 @@
+package com.stockbit.automation.pages;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.nativekey.AndroidKey;
+import io.appium.java_client.android.nativekey.KeyEvent;
+import io.appium.java_client.appmanagement.ApplicationState;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resets the app between scenarios that share a session.
+ * <p>
+ * Strategies are ordered from weakest to strongest; each one also clears what the weaker ones
+ * clear. A scenario states the strength it needs with an {@code @isolation:<strategy>} tag
+ * (default {@code reset.strategy}), and the cheapest strategy at least that strong is used,
+ * by measured cost. Each strategy is checked for the state it promises to clear; one that
+ * fails its check escalates to the next stronger one, and the failed attempt is charged to
+ * its measured cost so a strategy that keeps failing stops being picked first.
+ */
+public class AppReset extends BasePage {
+
+    /**
+     * Reset strategies from weakest to strongest, with the cost assumed before measuring.
+     */
+    public enum Strategy {
+        /** Terminate and activate: clears in-memory state only. */
+        RESTART(3000),
+        /** The app's own Reset App State: also clears the cart and login. */
+        IN_APP(5000),
+        /** {@code mobile: clearApp} ({@code pm clear}): also clears storage and granted permissions. */
+        CLEAR_DATA(8000),
+        /** Uninstall and install the APK again. */
+        REINSTALL(20000);
+
+        private final long initialCostMs;
+
+        Strategy(long initialCostMs) {
+            this.initialCostMs = initialCostMs;
+        }
+
+        /**
+         * Parses a strategy name as used in tags and config, e.g. {@code clear_data}.
+         */
+        public static Strategy parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String ISOLATION_TAG = "@isolation:";
+    private static final String CART_BADGE_ID = "com.saucelabs.mydemoapp.android:id/cartTV";
+    private static final double COST_WEIGHT = 0.3;
+    private static final Map<Strategy, Long> measuredCosts = new ConcurrentHashMap<>();
+
+    private final String appPackage = AppiumConfig.getAppPackage();
+    private boolean terminated;
+
+    public AppReset(AndroidDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Gets the strategy strength a scenario needs from its tags.
+     *
+     * @param tags scenario tags, e.g. {@code @isolation:clear_data}
+     * @return required strength
+     */
+    public static Strategy required(Collection<String> tags) {
+        return tags.stream()
+                .filter(tag -> tag.startsWith(ISOLATION_TAG))
+                .map(tag -> Strategy.parse(tag.substring(ISOLATION_TAG.length())))
+                .max(Comparator.naturalOrder())
+                .orElseGet(() -> Strategy.parse(AppiumConfig.getDefaultResetStrategy()));
+    }
+
+    /**
+     * Gets the current cost of a strategy: its measured average, or its estimate.
+     */
+    public static long cost(Strategy strategy) {
+        return measuredCosts.getOrDefault(strategy, strategy.initialCostMs);
+    }
+
+    /**
+     * Gets the cheapest strategy at least as strong as required, among those not yet tried.
+     */
+    static Optional<Strategy> cheapestSufficient(Strategy required, Set<Strategy> tried) {
+        return EnumSet.range(required, Strategy.REINSTALL).stream()
+                .filter(strategy -> !tried.contains(strategy))
+                .min(Comparator.comparingLong(AppReset::cost));
+    }
+
+    /**
+     * Resets the app for a scenario with the given tags.
+     *
+     * @param tags scenario tags
+     * @return strategy that reset the app
+     * @throws IllegalStateException if no sufficient strategy passed its completeness check
+     */
+    public Strategy resetFor(Collection<String> tags) {
+        Strategy required = required(tags);
+        Set<Strategy> tried = EnumSet.noneOf(Strategy.class);
+        Optional<Strategy> next = cheapestSufficient(required, tried);
+        while (next.isPresent()) {
+            Strategy strategy = next.get();
+            tried.add(strategy);
+            long start = System.currentTimeMillis();
+            boolean complete = false;
+            try {
+                apply(strategy);
+                complete = isComplete(strategy);
+            } catch (Exception e) {
+                logger.warn("Reset strategy {} failed: {}", strategy, e.getMessage());
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            next = cheapestSufficient(required, tried);
+            if (complete) {
+                CatalogPage.resetArrangement();
+                recordCost(strategy, elapsed);
+                logger.info("App reset with {} in {} ms (required {})", strategy, elapsed, required);
+                return strategy;
+            }
+            // A failed attempt costs its own time plus the escalation it forces
+            recordCost(strategy, elapsed + next.map(AppReset::cost).orElse(0L));
+            logger.warn("Reset strategy {} did not leave a clean app after {} ms, escalating", strategy, elapsed);
+        }
+        throw new IllegalStateException("No reset strategy at least as strong as " + required + " succeeded");
+    }
+
+    private static void recordCost(Strategy strategy, long costMs) {
+        measuredCosts.merge(strategy, costMs,
+                (old, value) -> Math.round(old * (1 - COST_WEIGHT) + value * COST_WEIGHT));
+    }
+
+    /**
+     * Performs a reset strategy without checking the result.
+     *
+     * @param strategy strategy to apply
+     */
+    public void apply(Strategy strategy) {
+        switch (strategy) {
+            case RESTART -> {
+                driver.terminateApp(appPackage);
+                terminated = driver.queryAppState(appPackage) == ApplicationState.NOT_RUNNING;
+                driver.activateApp(appPackage);
+            }
+            case IN_APP -> {
+                new MenuPage(driver).resetApp();
+                ResetAppStatePage resetAppStatePage = new ResetAppStatePage(driver);
+                resetAppStatePage.clickResetAppButton();
+                resetAppStatePage.clickOk();
+            }
+            case CLEAR_DATA -> {
+                driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+                driver.activateApp(appPackage);
+            }
+            case REINSTALL -> {
+                driver.removeApp(appPackage);
+                driver.installApp(AppiumConfig.getAppPath());
+                driver.activateApp(appPackage);
+            }
+        }
+    }
+
+    /**
+     * Checks that a strategy left the app in the state it promises: the app has focus and
+     * shows the catalog, the screen every reset lands on, and
+     * <ul>
+     *   <li>{@code RESTART}: the process was actually stopped before it was started again;</li>
+     *   <li>{@code IN_APP} and stronger: the cart badge is gone and the menu offers Log In.</li>
+     * </ul>
+     *
+     * @param strategy strategy that was just applied
+     * @return true if the app is clean for that strategy
+     */
+    public boolean isComplete(Strategy strategy) {
+        if (strategy == Strategy.RESTART && !terminated) {
+            logger.warn("App process was still running after terminate");
+            return false;
+        }
+        if (!appPackage.equals(driver.getCurrentPackage())) {
+            return false;
+        }
+        HierarchySnapshot catalog = awaitSnapshot(Screen.CATALOG,
+                Duration.ofSeconds(AppiumConfig.getScreenLaunchWaitSeconds()));
+        if (Screen.recognize(catalog) != Screen.CATALOG) {
+            return false;
+        }
+        if (strategy == Strategy.RESTART) {
+            return true;
+        }
+        if (!isCartEmpty(catalog)) {
+            logger.warn("Cart badge still shown after {}", strategy);
+            return false;
+        }
+        return isLoggedOut();
+    }
+
+    private static boolean isCartEmpty(HierarchySnapshot catalog) {
+        return catalog.findById(CART_BADGE_ID).stream()
+                .map(HierarchySnapshot.Node::text)
+                .allMatch(count -> count == null || count.isEmpty() || "0".equals(count));
+    }
+
+    /**
+     * Opens the menu to see whether it offers Log In rather than Log Out, then closes it again.
+     */
+    private boolean isLoggedOut() {
+        new MenuPage(driver).openMenu();
+        HierarchySnapshot menu = awaitSnapshot(Screen.MENU);
+        boolean loggedOut = menu.hasText("Log In") && !menu.hasText("Log Out");
+        driver.pressKey(new KeyEvent(AndroidKey.BACK));
+        if (!loggedOut) {
+            logger.warn("User still logged in after reset");
+            return false;
+        }
+        return isScreenDisplayed(Screen.CATALOG);
+    }
+}
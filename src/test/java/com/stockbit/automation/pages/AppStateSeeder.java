@@ -0,0 +1,110 @@
+package com.stockbit.automation.pages;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Puts the app into a precondition state with deep links instead of driving every screen.
+ * <p>
+ * The demo app opens screens directly from {@code mydemoapp://} links, e.g.
+ * {@code product-details/<id>} and {@code login}. Each seed checks that it landed on the
+ * expected screen and falls back to the regular UI path when it did not, so a changed
+ * link or product id costs time, not a failure. Scenarios that test the catalog, product
+ * or login screens themselves should keep using the UI steps.
+ */
+public class AppStateSeeder extends BasePage {
+
+    /**
+     * Product ids used by the {@code product-details} deep link, in catalog order.
+     */
+    private static final Map<String, Integer> PRODUCT_IDS = Map.of(
+            "Sauce Labs Backpack", 1,
+            "Sauce Labs Bike Light", 2,
+            "Sauce Labs Bolt T-Shirt", 3,
+            "Sauce Labs Fleece Jacket", 4,
+            "Sauce Labs Onesie", 5,
+            "Test.allTheThings() T-Shirt", 6
+    );
+
+    public AppStateSeeder(AndroidDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Opens a deep link of the app under test.
+     *
+     * @param path link path after the scheme, e.g. {@code login}
+     */
+    public void openDeepLink(String path) {
+        openDeepLink(driver, path);
+    }
+
+    /**
+     * Opens a deep link of the app under test without creating a page.
+     *
+     * @param driver driver of the current session
+     * @param path   link path after the scheme, e.g. {@code login}
+     */
+    static void openDeepLink(AndroidDriver driver, String path) {
+        String url = AppiumConfig.getDeepLinkScheme() + "://" + path;
+        driver.executeScript("mobile: deepLink", Map.of(
+                "url", url,
+                "package", AppiumConfig.getAppPackage()
+        ));
+        LoggerFactory.getLogger(AppStateSeeder.class).info("Opened deep link: {}", url);
+    }
+
+    /**
+     * Adds a product in the given color to the cart and stays on its detail page.
+     *
+     * @param productName catalog name of the product
+     * @param color       color name, e.g. Blue
+     */
+    public void seedCart(String productName, String color) {
+        ProductDetailPage productDetailPage = new ProductDetailPage(driver);
+        Integer productId = PRODUCT_IDS.get(productName);
+        boolean onProduct = false;
+        if (productId != null) {
+            try {
+                openDeepLink("product-details/" + productId);
+                onProduct = productName.equals(productDetailPage.getProductTitle());
+            } catch (Exception e) {
+                logger.warn("Product deep link failed: {}", e.getMessage());
+            }
+        }
+        if (!onProduct) {
+            logger.info("Falling back to catalog UI to open '{}'", productName);
+            new MenuPage(driver).navigateToCatalog();
+            new CatalogPage(driver).selectProductByName(productName);
+        }
+        productDetailPage.addProductToCart(color);
+    }
+
+    /**
+     * Logs in through the login deep link.
+     *
+     * @param username user name
+     * @param password password
+     */
+    public void seedLogin(String username, String password) {
+        LoginMenuPage loginPage = new LoginMenuPage(driver);
+        boolean onLogin = false;
+        try {
+            openDeepLink("login");
+            onLogin = loginPage.isLoginPageDisplayed();
+        } catch (Exception e) {
+            logger.warn("Login deep link failed: {}", e.getMessage());
+        }
+        if (!onLogin) {
+            logger.info("Falling back to menu UI to open login");
+            new MenuPage(driver).navigateToLogin();
+        }
+        loginPage.login(username, password);
+        if (!loginPage.isLoggedInSuccessfully()) {
+            throw new IllegalStateException("Could not log in as " + username);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.stockbit.automation.pages;
 
+import com.stockbit.automation.context.CacheKey;
+import com.stockbit.automation.context.RunCache;
+import com.stockbit.automation.drivers.DriverManager;
+import com.stockbit.automation.drivers.ForegroundGuard;
+import com.stockbit.automation.drivers.Gesture;
+import com.stockbit.automation.drivers.SystemDialogWatcher;
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AppiumFieldDecorator;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -11,7 +23,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Base Page class implementing common actions for all page objects.
@@ -26,6 +43,12 @@ public abstract class BasePage {
     private static final int DEFAULT_TIMEOUT = 20;
     private static final int MAX_RETRIES = 3;
     private static final int RETRY_DELAY_MS = 1000;
+    private static final CacheKey<Dimension> SCREEN_SIZE = CacheKey.of("screenSize", Dimension.class);
+    private static final int MAX_SCROLLS = 10;
+    private static final Duration REPEAT_TAP_INTERVAL = Duration.ofMillis(150);
+    private static final CacheKey<Rectangle> ELEMENT_BOUNDS = CacheKey.of("elementBounds", Rectangle.class);
+    private static final Pattern SIMPLE_SELECTOR =
+            Pattern.compile("new UiSelector\\(\\)\\.(text|textContains|description|resourceId)\\(\"([^\"]*)\"\\)");
 
     public BasePage(AndroidDriver driver) {
         this.driver = driver;
@@ -53,6 +76,8 @@ public abstract class BasePage {
                 lastException = e;
                 logger.warn("Click attempt {} failed: {}", attempt, e.getMessage());
                 if (attempt < MAX_RETRIES) {
+                    // A system dialog in front of the app is the usual reason for a failed click
+                    SystemDialogWatcher.dismissIfPresent(driver);
                     try {
                         Thread.sleep(RETRY_DELAY_MS);
                     } catch (InterruptedException ie) {
@@ -152,6 +177,80 @@ public abstract class BasePage {
         return !driver.findElements(locator).isEmpty();
     }
 
+    /**
+     * Waits until the given screen is recognized from the UI hierarchy.
+     * Each poll is one page source round trip, whatever the number of signature elements.
+     *
+     * @param screen expected screen
+     * @return true if the screen was recognized before the timeout, false otherwise
+     */
+    protected boolean isScreenDisplayed(Screen screen) {
+        return isScreenDisplayed(screen, Duration.ofSeconds(DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * Waits up to the given timeout until the given screen is recognized from the UI hierarchy.
+     *
+     * @param screen  expected screen
+     * @param timeout maximum wait
+     * @return true if the screen was recognized before the timeout, false otherwise
+     */
+    protected boolean isScreenDisplayed(Screen screen, Duration timeout) {
+        return Screen.recognize(awaitSnapshot(screen, timeout)) == screen;
+    }
+
+    /**
+     * Waits until the given screen is recognized and returns the hierarchy it was recognized
+     * from, so a page can read its values without another round trip.
+     *
+     * @param screen expected screen
+     * @return the matching snapshot, or the last one taken if the screen did not show up
+     */
+    protected HierarchySnapshot awaitSnapshot(Screen screen) {
+        return awaitSnapshot(screen, Duration.ofSeconds(DEFAULT_TIMEOUT));
+    }
+
+    /**
+     * Waits up to the given timeout until the given screen is recognized and returns the
+     * hierarchy it was recognized from.
+     *
+     * @param screen  expected screen
+     * @param timeout maximum wait
+     * @return the matching snapshot, or the last one taken if the screen did not show up
+     */
+    protected HierarchySnapshot awaitSnapshot(Screen screen, Duration timeout) {
+        HierarchySnapshot[] snapshot = {new HierarchySnapshot("")};
+        ScreenRecognizer.Recognition[] last = {null};
+        try {
+            new WebDriverWait(driver, timeout).until(d -> {
+                snapshot[0] = HierarchySnapshot.capture(driver);
+                last[0] = ScreenRecognizer.recognize(snapshot[0]);
+                return last[0].screen() == screen;
+            });
+        } catch (Exception e) {
+            logger.warn("{} not recognized, last recognition: {}", screen, last[0]);
+        }
+        return snapshot[0];
+    }
+
+    /**
+     * Gets the device's screen size, queried once per device and run.
+     *
+     * @return window size of the current device
+     */
+    protected Dimension getScreenSize() {
+        return RunCache.getOrLoad(SCREEN_SIZE.qualified(String.valueOf(DriverManager.getDeviceSerial())),
+                () -> driver.manage().window().getSize());
+    }
+
+    /**
+     * Makes sure the app has focus before a step that is sensitive to overlays.
+     * Costs a single focus query when nothing is in front of the app.
+     */
+    protected void ensureAppInForeground() {
+        ForegroundGuard.ensureForeground(driver);
+    }
+
     /**
      * Waits for specified duration.
      *
@@ -165,6 +264,238 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Taps the center of an element's bounds as read from the UI hierarchy, with one W3C
+     * action and no element lookup.
+     * <p>
+     * Bounds of an element outside any scrollable container cannot move while the screen is
+     * shown, so they are cached per device, screen and locator for the run and later taps cost
+     * no hierarchy fetch.
+     *
+     * @param screen  screen the element belongs to
+     * @param locator id, accessibility id or simple UiSelector locator
+     * @return true if the element was found and tapped
+     * @throws IllegalArgumentException if the locator cannot be matched against the hierarchy
+     */
+    protected boolean tapByBounds(Screen screen, By locator) {
+        Predicate<HierarchySnapshot.Node> matches = nodeMatcher(locator);
+        if (matches == null) {
+            throw new IllegalArgumentException("Locator cannot be matched against the hierarchy: " + locator);
+        }
+        CacheKey<Rectangle> key = ELEMENT_BOUNDS.qualified(DriverManager.getDeviceSerial() + "/" + screen + "/" + locator);
+        Rectangle bounds = RunCache.get(key).orElse(null);
+        if (bounds == null) {
+            HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+            HierarchySnapshot.Node node = hierarchy.find(matches).stream()
+                    .filter(n -> n.bounds() != null && n.bounds().getWidth() > 0 && n.bounds().getHeight() > 0)
+                    .findFirst()
+                    .orElse(null);
+            if (node == null) {
+                logger.debug("{} not in the hierarchy, cannot tap by bounds", locator);
+                return false;
+            }
+            bounds = node.bounds();
+            if (isFixed(hierarchy, node) && Screen.recognize(hierarchy) == screen) {
+                RunCache.put(key, bounds);
+            }
+        }
+        tapAt(bounds.getX() + bounds.getWidth() / 2, bounds.getY() + bounds.getHeight() / 2);
+        return true;
+    }
+
+    /**
+     * Taps at screen coordinates using W3C Actions, falling back to {@code mobile: tap}.
+     */
+    protected void tapAt(int x, int y) {
+        try {
+            Gesture.create().tap(x, y).perform(driver);
+            logger.info("Tapped at coordinates ({}, {}) using W3C Actions", x, y);
+        } catch (Exception e) {
+            logger.warn("W3C tap failed, trying mobile: tap: {}", e.getMessage());
+            driver.executeScript("mobile: tap", Map.of("x", x, "y", y));
+            logger.info("Tapped at coordinates ({}, {}) using mobile: tap", x, y);
+        }
+    }
+
+    /**
+     * Taps an element's center a number of times in one W3C request, e.g. to step a counter.
+     *
+     * @param element element to tap
+     * @param times   number of taps
+     */
+    protected void tapRepeatedly(WebElement element, int times) {
+        if (times <= 0) {
+            return;
+        }
+        Rectangle rect = element.getRect();
+        Point center = new Point(rect.getX() + rect.getWidth() / 2, rect.getY() + rect.getHeight() / 2);
+        Gesture.create().repeatTap(center, times, REPEAT_TAP_INTERVAL).perform(driver);
+        logger.info("Tapped {} times at ({}, {})", times, center.getX(), center.getY());
+    }
+
+    private static boolean isFixed(HierarchySnapshot hierarchy, HierarchySnapshot.Node node) {
+        for (HierarchySnapshot.Node parent = hierarchy.parent(node); parent != null; parent = hierarchy.parent(parent)) {
+            if (parent.scrollable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scrolls until an element with exactly the given text is on screen.
+     *
+     * @param text element text
+     * @return the element
+     * @throws NoSuchElementException if no scrolling brings the element into view
+     */
+    protected WebElement scrollToText(String text) {
+        return scrollToElement(AppiumBy.androidUIAutomator("new UiSelector().text(" + quote(text) + ")"));
+    }
+
+    /**
+     * Scrolls until an element matching the locator is on screen.
+     * <p>
+     * If the element is already shown, or nothing on screen scrolls, no scrolling happens. Id,
+     * accessibility id and UiSelector locators are scrolled to with one server-side
+     * {@code UiScrollable.scrollIntoView}. Other locators, or a failed scrollIntoView, fall back
+     * to gestures over the largest scrollable container, down and then up, each direction
+     * ending when a gesture leaves the hierarchy unchanged.
+     *
+     * @param locator element locator
+     * @return the element
+     * @throws NoSuchElementException if no scrolling brings the element into view
+     */
+    protected WebElement scrollToElement(By locator) {
+        HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+        Predicate<HierarchySnapshot> shown = presence(locator);
+        if (shown != null && shown.test(hierarchy)) {
+            return driver.findElement(locator);
+        }
+        HierarchySnapshot.Node container = hierarchy.find(HierarchySnapshot.Node::scrollable).stream()
+                .filter(node -> node.bounds() != null)
+                .max(Comparator.comparingInt(node -> node.bounds().getWidth() * node.bounds().getHeight()))
+                .orElse(null);
+        if (container == null) {
+            return driver.findElement(locator);
+        }
+
+        String selector = uiSelector(locator);
+        if (selector != null) {
+            try {
+                return driver.findElement(AppiumBy.androidUIAutomator(
+                        "new UiScrollable(new UiSelector().scrollable(true)).scrollIntoView(" + selector + ")"));
+            } catch (Exception e) {
+                logger.debug("scrollIntoView did not find {}: {}", locator, e.getMessage());
+            }
+        }
+
+        if (shown == null) {
+            // Look the element up without waiting while scrolling
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        }
+        try {
+            for (String direction : List.of("down", "up")) {
+                WebElement element = scrollByGestures(locator, shown, container.bounds(), direction);
+                if (element != null) {
+                    return element;
+                }
+            }
+        } finally {
+            if (shown == null) {
+                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(AppiumConfig.getImplicitWait()));
+            }
+        }
+        throw new NoSuchElementException("Could not scroll to " + locator);
+    }
+
+    private WebElement scrollByGestures(By locator, Predicate<HierarchySnapshot> shown, Rectangle container,
+                                        String direction) {
+        int lastHierarchy = 0;
+        for (int i = 0; i < MAX_SCROLLS; i++) {
+            driver.executeScript("mobile: scrollGesture", Map.of(
+                    "left", container.getX(),
+                    "top", container.getY(),
+                    "width", container.getWidth(),
+                    "height", container.getHeight(),
+                    "direction", direction,
+                    "percent", 0.75
+            ));
+            HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+            if (shown != null ? shown.test(hierarchy) : !driver.findElements(locator).isEmpty()) {
+                return driver.findElement(locator);
+            }
+            int hash = hierarchy.getNodes().hashCode();
+            if (hash == lastHierarchy) {
+                logger.debug("End of list reached scrolling {}", direction);
+                return null;
+            }
+            lastHierarchy = hash;
+        }
+        return null;
+    }
+
+    /**
+     * Checks a locator against a snapshot without a device call, or null if it cannot be.
+     */
+    private static Predicate<HierarchySnapshot> presence(By locator) {
+        Predicate<HierarchySnapshot.Node> matches = nodeMatcher(locator);
+        return matches == null ? null : hierarchy -> !hierarchy.find(matches).isEmpty();
+    }
+
+    /**
+     * Matches hierarchy nodes against an id, accessibility id or simple UiSelector locator, or
+     * null for other locators.
+     */
+    private static Predicate<HierarchySnapshot.Node> nodeMatcher(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        String value = String.valueOf(remotable.getRemoteParameters().value());
+        switch (remotable.getRemoteParameters().using()) {
+            case "id":
+                return node -> node.hasId(value);
+            case "accessibility id":
+                return node -> node.contentDescription().equals(value);
+            case "-android uiautomator":
+                Matcher matcher = SIMPLE_SELECTOR.matcher(value.trim());
+                if (!matcher.matches()) {
+                    return null;
+                }
+                String argument = matcher.group(2);
+                return switch (matcher.group(1)) {
+                    case "text" -> node -> node.text().equals(argument);
+                    case "textContains" -> node -> node.text().contains(argument);
+                    case "description" -> node -> node.contentDescription().equals(argument);
+                    default -> node -> node.hasId(argument);
+                };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Converts a locator to a UiSelector expression, or null if it has none.
+     */
+    private static String uiSelector(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        String value = String.valueOf(remotable.getRemoteParameters().value());
+        return switch (remotable.getRemoteParameters().using()) {
+            case "id" -> value.contains(":id/")
+                    ? "new UiSelector().resourceId(" + quote(value) + ")"
+                    : "new UiSelector().resourceIdMatches(" + quote(".*:id/" + value) + ")";
+            case "accessibility id" -> "new UiSelector().description(" + quote(value) + ")";
+            case "-android uiautomator" -> value.trim().startsWith("new UiSelector()") ? value.trim() : null;
+            default -> null;
+        };
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
     /**
      * Scrolls down on the screen.
      */
@@ -1,11 +1,16 @@
 package com.stockbit.automation.pages;
 
+import com.stockbit.automation.drivers.Gesture;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,6 +18,9 @@ import java.util.List;
  */
 public class CartPage extends BasePage {
 
+    private static final Duration QUANTITY_TAP_INTERVAL = Duration.ofMillis(150);
+    private static final String[] COLOR_NAMES = {"Black", "Blue", "Gray", "Red", "Green", "White", "Yellow", "Orange", "Purple", "Pink"};
+
     @AndroidFindBy(uiAutomator = "new UiSelector().textContains(\"My Cart\")")
     private WebElement cartTitle;
 
@@ -75,18 +83,77 @@ public class CartPage extends BasePage {
      * Checks if cart page is displayed.
      */
     public boolean isCartPageDisplayed() {
-        try {
-            waitFor(3);
-            // Try the cart title first
-            if (isDisplayed(cartTitle)) {
-                return true;
+        return isScreenDisplayed(Screen.CART);
+    }
+
+    /**
+     * Reads the cart from one hierarchy snapshot.
+     *
+     * @return rows and totals shown on the page
+     */
+    public CartState snapshot() {
+        HierarchySnapshot hierarchy = awaitSnapshot(Screen.CART);
+        List<CartState.Item> items = new ArrayList<>();
+        for (HierarchySnapshot.Node row : cartRows(hierarchy)) {
+            List<HierarchySnapshot.Node> cells = hierarchy.descendants(row);
+            items.add(new CartState.Item(productName(cells), productColor(cells), textOf(cells, "priceTV")));
+        }
+        return new CartState(items,
+                textOf(hierarchy.findById("totalPriceTV"), "totalPriceTV"),
+                hierarchy.findByDescription("total number").stream()
+                        .map(HierarchySnapshot.Node::text).findFirst().orElse(""),
+                hierarchy.hasTextContaining("No Items"));
+    }
+
+    private static List<HierarchySnapshot.Node> cartRows(HierarchySnapshot hierarchy) {
+        List<HierarchySnapshot.Node> rows = hierarchy.findByDescription("Displays list of selected products").stream()
+                .flatMap(list -> hierarchy.children(list).stream())
+                .filter(row -> row.className().equals("android.view.ViewGroup"))
+                .toList();
+        if (rows.isEmpty()) {
+            // List without a description: the containers of the product titles
+            rows = hierarchy.findById("titleTV").stream().map(hierarchy::parent).distinct().toList();
+        }
+        return rows;
+    }
+
+    private static String productName(List<HierarchySnapshot.Node> cells) {
+        String title = textOf(cells, "titleTV");
+        if (!title.isEmpty()) {
+            return title;
+        }
+        return cells.stream()
+                .map(HierarchySnapshot.Node::text)
+                .filter(text -> !text.isEmpty() && !text.startsWith("$") && !text.matches("^\\d+$"))
+                .findFirst()
+                .orElse("");
+    }
+
+    private static String productColor(List<HierarchySnapshot.Node> cells) {
+        String color = textOf(cells, "colorTV");
+        if (!color.isEmpty()) {
+            return color;
+        }
+        // The color swatch may only carry a content description
+        for (HierarchySnapshot.Node cell : cells) {
+            String description = cell.contentDescription();
+            if (cell.className().equals("android.widget.ImageView") && !description.isEmpty()
+                    && !description.contains("product") && !description.contains("item")) {
+                return description;
             }
-            // Fallback: check for proceed to checkout button
-            return isDisplayed(proceedToCheckoutButton);
-        } catch (Exception e) {
-            logger.warn("Could not verify cart page: {}", e.getMessage());
-            return false;
         }
+        for (HierarchySnapshot.Node cell : cells) {
+            for (String colorName : COLOR_NAMES) {
+                if (cell.text().toLowerCase().contains(colorName.toLowerCase())) {
+                    return cell.text();
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String textOf(List<HierarchySnapshot.Node> cells, String id) {
+        return cells.stream().filter(cell -> cell.hasId(id)).map(HierarchySnapshot.Node::text).findFirst().orElse("");
     }
 
     /**
@@ -160,12 +227,32 @@ public class CartPage extends BasePage {
      * Increases quantity for item at index.
      */
     public void increaseQuantity(int index) {
-        if (index < cartItems.size()) {
-            WebElement item = cartItems.get(index);
-            WebElement plusBtn = item.findElement(By.xpath("//android.widget.ImageView[@content-desc=\"Increase item quantity\"]"));
-            click(plusBtn);
-            logger.info("Increased quantity for item at index: {}", index);
+        increaseQuantity(index, 1);
+    }
+
+    /**
+     * Increases quantity for item at index by the given number of steps, with all plus button
+     * taps sent as one gesture.
+     */
+    public void increaseQuantity(int index, int times) {
+        HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+        List<HierarchySnapshot.Node> rows = cartRows(hierarchy);
+        Rectangle plus = index < rows.size()
+                ? hierarchy.descendants(rows.get(index)).stream()
+                        .filter(node -> node.contentDescription().equals("Increase item quantity") && node.bounds() != null)
+                        .map(HierarchySnapshot.Node::bounds)
+                        .findFirst()
+                        .orElse(null)
+                : null;
+        if (plus == null) {
+            logger.warn("Plus button of item {} not found", index);
+            return;
         }
+        Gesture.create()
+                .repeatTap(new Point(plus.getX() + plus.getWidth() / 2, plus.getY() + plus.getHeight() / 2),
+                        times, QUANTITY_TAP_INTERVAL)
+                .perform(driver);
+        logger.info("Increased quantity for item at index {} by {}", index, times);
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.stockbit.automation.pages;
+
+import java.util.List;
+
+/**
+ * Contents of the cart page, read from one hierarchy snapshot.
+ * Absent values are empty strings.
+ *
+ * @param items          cart rows, in display order
+ * @param totalPrice     total price text
+ * @param totalItems     total number of items text
+ * @param noItemsMessage whether the "No Items" message is shown
+ */
+public record CartState(List<Item> items, String totalPrice, String totalItems, boolean noItemsMessage) {
+
+    /**
+     * One cart row.
+     *
+     * @param name  product name
+     * @param color color label or description, empty if the color is only shown visually
+     * @param price price text
+     */
+    public record Item(String name, String color, String price) {
+    }
+
+    public CartState {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Gets number of rows in the cart.
+     */
+    public int itemCount() {
+        return items.size();
+    }
+
+    /**
+     * Whether the cart is empty.
+     */
+    public boolean isEmpty() {
+        return noItemsMessage || items.isEmpty();
+    }
+
+    /**
+     * Whether a row's product name contains the given name.
+     */
+    public boolean contains(String productName) {
+        return items.stream().anyMatch(item -> item.name().contains(productName));
+    }
+}
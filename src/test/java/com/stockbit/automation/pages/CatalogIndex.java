@@ -0,0 +1,41 @@
+package com.stockbit.automation.pages;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Products of the catalog in list order, as found by one crawl of the product list.
+ *
+ * @param products products in list order
+ */
+public record CatalogIndex(List<Product> products) {
+
+    /**
+     * One catalog product.
+     *
+     * @param name         product name
+     * @param price        price text
+     * @param position     0-based position in the list
+     * @param scrollOffset number of product list scrolls from the top until the product is shown
+     */
+    public record Product(String name, String price, int position, int scrollOffset) {
+    }
+
+    public CatalogIndex {
+        products = List.copyOf(products);
+    }
+
+    /**
+     * Finds a product by exact name.
+     */
+    public Optional<Product> find(String name) {
+        return products.stream().filter(product -> product.name().equals(name)).findFirst();
+    }
+
+    /**
+     * Gets the product at a list position.
+     */
+    public Optional<Product> at(int position) {
+        return position >= 0 && position < products.size() ? Optional.of(products.get(position)) : Optional.empty();
+    }
+}
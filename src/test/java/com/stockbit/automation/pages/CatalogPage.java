@@ -1,17 +1,36 @@
 package com.stockbit.automation.pages;
 
+import com.stockbit.automation.context.CacheKey;
+import com.stockbit.automation.context.RunCache;
+import com.stockbit.automation.drivers.DriverManager;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.WebElement;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Catalog Page Object representing the product catalog/listing page.
  */
 public class CatalogPage extends BasePage {
 
+    private static final CacheKey<CatalogIndex> CATALOG_INDEX = CacheKey.of("catalogIndex", CatalogIndex.class);
+
+    /**
+     * Whether this thread's app may show the catalog in another order or layout than the one
+     * it starts with, since its session started or the app was last reset.
+     */
+    private static final ThreadLocal<Boolean> rearranged = ThreadLocal.withInitial(() -> false);
+    private static final String PRODUCT_IMAGE_ID = "com.saucelabs.mydemoapp.android:id/productIV";
+    private static final int MAX_CRAWL_SCROLLS = 20;
+
     @AndroidFindBy(uiAutomator = "new UiSelector().resourceId(\"com.saucelabs.mydemoapp.android:id/productTV\")")
     private WebElement productsTitle;
 
@@ -32,20 +51,14 @@ public class CatalogPage extends BasePage {
      * Checks if catalog page is displayed.
      */
     public boolean isCatalogPageDisplayed() {
-        try {
-            waitFor(2);
-            return isDisplayed(productsTitle);
-        } catch (Exception e) {
-            logger.warn("Could not verify catalog page: {}", e.getMessage());
-            return false;
-        }
+        return isScreenDisplayed(Screen.CATALOG);
     }
 
     /**
      * Gets product items list.
      */
     private List<WebElement> getProductItems() {
-        return driver.findElements(By.id("com.saucelabs.mydemoapp.android:id/productIV"));
+        return driver.findElements(By.id(PRODUCT_IMAGE_ID));
     }
 
     /**
@@ -72,17 +85,22 @@ public class CatalogPage extends BasePage {
     }
 
     /**
-     * Return the selected product name
+     * Return the selected product name.
+     * Reads the visible titles from one hierarchy snapshot; positions below the fold come from
+     * the catalog index.
      */
     public String returnSelectedProductName(int index) {
         try {
-            // Find all product titles directly
-            List<WebElement> titleElements = driver.findElements(
-                io.appium.java_client.AppiumBy.id("com.saucelabs.mydemoapp.android:id/titleTV"));
-            if (index < titleElements.size()) {
-                String title = titleElements.get(index).getText();
-                logger.info("Found product title at index {}: {}", index, title);
-                return title;
+            List<String> titles = HierarchySnapshot.capture(driver).findById("titleTV").stream()
+                    .map(HierarchySnapshot.Node::text)
+                    .toList();
+            if (index < titles.size()) {
+                logger.info("Found product title at index {}: {}", index, titles.get(index));
+                return titles.get(index);
+            }
+            CatalogIndex catalogIndex = getCatalogIndex();
+            if (catalogIndex != null) {
+                return catalogIndex.at(index).map(CatalogIndex.Product::name).orElse("");
             }
         } catch (Exception e) {
             logger.warn("Could not find title for product at index {}: {}", index, e.getMessage());
@@ -114,14 +132,193 @@ public class CatalogPage extends BasePage {
 
     /**
      * Selects a product by name.
+     * Scrolls straight to the product's offset from the catalog index and taps it by position;
+     * searches the hierarchy only when the product is not where the index says.
      */
     public void selectProductByName(String productName) {
-        WebElement product = findElement(By.xpath(
+        CatalogIndex catalogIndex = getCatalogIndex();
+        CatalogIndex.Product product = catalogIndex == null ? null : catalogIndex.find(productName).orElse(null);
+        if (product != null && selectIndexedProduct(catalogIndex, product)) {
+            logger.info("Selected product: {} (position {})", productName, product.position());
+            return;
+        }
+        WebElement item = findElement(By.xpath(
                 "//android.widget.TextView[@text='" + productName + "']/ancestor::android.view.ViewGroup[@content-desc='store item']"));
-        click(product);
+        click(item);
         logger.info("Selected product: {}", productName);
     }
 
+    /**
+     * Gets the catalog index of the current device, crawling the product list once per run.
+     * The index describes the default order and layout, so it is not used after this thread
+     * sorted the catalog or toggled its view, until the app is reset.
+     *
+     * @return the index, or null if the product list could not be crawled or is rearranged
+     */
+    public CatalogIndex getCatalogIndex() {
+        if (rearranged.get()) {
+            logger.debug("Catalog order or layout changed, not using the catalog index");
+            return null;
+        }
+        return RunCache.getOrLoad(catalogIndexKey(), this::crawlCatalog);
+    }
+
+    /**
+     * Records that the app shows the catalog in its default order and layout again, after a
+     * new session or an app reset.
+     */
+    public static void resetArrangement() {
+        rearranged.remove();
+    }
+
+    /**
+     * Records that the catalog may no longer be in its default order or layout.
+     */
+    static void markRearranged() {
+        rearranged.set(true);
+    }
+
+    private static CacheKey<CatalogIndex> catalogIndexKey() {
+        return CATALOG_INDEX.qualified(String.valueOf(DriverManager.getDeviceSerial()));
+    }
+
+    private boolean selectIndexedProduct(CatalogIndex catalogIndex, CatalogIndex.Product product) {
+        try {
+            HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+            Rectangle list = productList(hierarchy);
+            if (list == null) {
+                return false;
+            }
+            // The furthest product on screen tells how far the list is scrolled
+            int currentOffset = visibleNames(hierarchy).stream()
+                    .map(catalogIndex::find)
+                    .flatMap(Optional::stream)
+                    .mapToInt(CatalogIndex.Product::scrollOffset)
+                    .max()
+                    .orElse(0);
+            int scrolls = product.scrollOffset() - currentOffset;
+            for (int i = 0; i < Math.abs(scrolls); i++) {
+                scrollProducts(list, scrolls > 0 ? "down" : "up");
+            }
+            if (scrolls != 0) {
+                hierarchy = HierarchySnapshot.capture(driver);
+            }
+            List<HierarchySnapshot.Node> images = hierarchy.findById("productIV");
+            for (HierarchySnapshot.Node row : productRows(hierarchy)) {
+                if (!product.name().equals(rowText(hierarchy, row, "titleTV"))) {
+                    continue;
+                }
+                int image = hierarchy.descendants(row).stream()
+                        .filter(node -> node.hasId("productIV"))
+                        .mapToInt(images::indexOf)
+                        .findFirst()
+                        .orElse(-1);
+                if (image >= 0) {
+                    click(getProductItems().get(image));
+                    return true;
+                }
+            }
+            logger.info("'{}' not found at its indexed position, searching for it", product.name());
+        } catch (Exception e) {
+            logger.warn("Could not select '{}' by index: {}", product.name(), e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Scrolls the product list from top to bottom once, recording each product's name, price,
+     * position and the number of scrolls needed to show it, then scrolls back to the top.
+     */
+    private CatalogIndex crawlCatalog() {
+        try {
+            Rectangle list = productList(HierarchySnapshot.capture(driver));
+            if (list == null) {
+                logger.warn("Product list not found, catalog not indexed");
+                return null;
+            }
+            scrollProductsToTop(list);
+
+            List<CatalogIndex.Product> products = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            int offset = 0;
+            boolean more = true;
+            while (true) {
+                HierarchySnapshot hierarchy = HierarchySnapshot.capture(driver);
+                int found = products.size();
+                for (HierarchySnapshot.Node row : productRows(hierarchy)) {
+                    String name = rowText(hierarchy, row, "titleTV");
+                    if (!name.isEmpty() && seen.add(name)) {
+                        products.add(new CatalogIndex.Product(name, rowText(hierarchy, row, "priceTV"),
+                                products.size(), offset));
+                    }
+                }
+                if (!more || offset == MAX_CRAWL_SCROLLS || (offset > 0 && products.size() == found)) {
+                    break;
+                }
+                more = scrollProducts(list, "down");
+                offset++;
+            }
+            // Scenarios expect the catalog at the top
+            scrollProductsToTop(list);
+            logger.info("Indexed {} catalog products in {} scrolls", products.size(), offset);
+            return products.isEmpty() ? null : new CatalogIndex(products);
+        } catch (Exception e) {
+            logger.warn("Could not index the catalog: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<HierarchySnapshot.Node> productRows(HierarchySnapshot hierarchy) {
+        List<HierarchySnapshot.Node> rows = hierarchy.findByDescription("store item");
+        if (rows.isEmpty()) {
+            rows = hierarchy.findById("titleTV").stream().map(hierarchy::parent).distinct().toList();
+        }
+        return rows;
+    }
+
+    private static List<String> visibleNames(HierarchySnapshot hierarchy) {
+        return productRows(hierarchy).stream().map(row -> rowText(hierarchy, row, "titleTV")).toList();
+    }
+
+    private static Rectangle productList(HierarchySnapshot hierarchy) {
+        List<HierarchySnapshot.Node> rows = productRows(hierarchy);
+        HierarchySnapshot.Node list = rows.isEmpty() ? null : hierarchy.parent(rows.get(0));
+        return list == null ? null : list.bounds();
+    }
+
+    private static String rowText(HierarchySnapshot hierarchy, HierarchySnapshot.Node row, String id) {
+        return hierarchy.descendants(row).stream()
+                .filter(node -> node.hasId(id))
+                .map(HierarchySnapshot.Node::text)
+                .findFirst()
+                .orElse("");
+    }
+
+    private void scrollProductsToTop(Rectangle list) {
+        int scrolls = 0;
+        boolean more;
+        do {
+            more = scrollProducts(list, "up");
+        } while (more && ++scrolls < MAX_CRAWL_SCROLLS);
+    }
+
+    /**
+     * Scrolls the product list by the same gesture the crawl used.
+     *
+     * @return true if the list can scroll further in that direction
+     */
+    private boolean scrollProducts(Rectangle list, String direction) {
+        Object canScrollMore = driver.executeScript("mobile: scrollGesture", Map.of(
+                "left", list.getX(),
+                "top", list.getY(),
+                "width", list.getWidth(),
+                "height", list.getHeight(),
+                "direction", direction,
+                "percent", 0.75
+        ));
+        return Boolean.TRUE.equals(canScrollMore);
+    }
+
     /**
      * Clicks on cart icon.
      */
@@ -174,6 +371,8 @@ public class CatalogPage extends BasePage {
      * Clicks sort button.
      */
     public void clickSort() {
+        // The indexed positions only hold for the default order
+        markRearranged();
         click(sortButton);
         logger.info("Clicked sort button");
     }
@@ -182,6 +381,8 @@ public class CatalogPage extends BasePage {
      * Toggles between grid and list view.
      */
     public void toggleView() {
+        // The indexed scroll offsets only hold for the default layout
+        markRearranged();
         click(toggleViewButton);
         logger.info("Toggled product view");
     }
@@ -37,6 +37,26 @@ public class CheckoutCompletePage extends BasePage {
         }
     }
 
+    /**
+     * Reads the confirmation from one hierarchy snapshot.
+     *
+     * @return texts shown on the page
+     */
+    public CheckoutConfirmation snapshot() {
+        HierarchySnapshot hierarchy = awaitSnapshot(Screen.CHECKOUT_COMPLETE);
+        return new CheckoutConfirmation(
+                textContaining(hierarchy, "Checkout Complete"),
+                textContaining(hierarchy, "Thank you for your order"),
+                hierarchy.hasDescription("Tap to open catalog"));
+    }
+
+    private static String textContaining(HierarchySnapshot hierarchy, String fragment) {
+        return hierarchy.find(node -> node.text().contains(fragment)).stream()
+                .map(HierarchySnapshot.Node::text)
+                .findFirst()
+                .orElse("");
+    }
+
     /**
      * Checks if "Checkout Complete" text is displayed.
      */
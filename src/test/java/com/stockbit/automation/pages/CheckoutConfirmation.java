@@ -0,0 +1,19 @@
+package com.stockbit.automation.pages;
+
+/**
+ * Values shown on the checkout complete page, read from one hierarchy snapshot.
+ * Absent texts are empty strings.
+ *
+ * @param title                 "Checkout Complete" title text
+ * @param message               thank-you message text
+ * @param continueShoppingShown whether the continue shopping button is shown
+ */
+public record CheckoutConfirmation(String title, String message, boolean continueShoppingShown) {
+
+    /**
+     * Whether both the title and the thank-you message are shown.
+     */
+    public boolean isComplete() {
+        return !title.isEmpty() && !message.isEmpty();
+    }
+}
@@ -1,19 +1,18 @@
 package com.stockbit.automation.pages;
 
+import com.stockbit.automation.drivers.Gesture;
+import com.stockbit.automation.reporting.ImageDiff;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.Pause;
-import org.openqa.selenium.interactions.PointerInput;
-import org.openqa.selenium.interactions.Sequence;
 
 import java.time.Duration;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Drawing Page Object for testing drawing functionality.
@@ -32,9 +31,17 @@ public class DrawingPage extends BasePage {
     @AndroidFindBy(id = "clearBtn")
     private WebElement clearButton;
 
-    // Store canvas screenshot before drawing for comparison
-    private byte[] canvasScreenshotBeforeDrawing = null;
-    private byte[] canvasScreenshotAfterDrawing = null;
+    /** Luminance difference above which a canvas pixel counts as changed. */
+    private static final int CANVAS_PIXEL_THRESHOLD = 24;
+    /** Share of canvas pixels that must change for a clear to count. */
+    private static final double MIN_CLEAR_CHANGE = 0.001;
+    /** How close a cleared canvas must be to the empty one. */
+    private static final ImageDiff.Tolerance EMPTY_CANVAS_TOLERANCE =
+            new ImageDiff.Tolerance(CANVAS_PIXEL_THRESHOLD, 0.002, 4);
+
+    // Store decoded canvas states for comparison; decoding runs off the test thread
+    private Future<ImageDiff.Luma> canvasBeforeDrawing = null;
+    private Future<ImageDiff.Luma> canvasAfterDrawing = null;
 
     public DrawingPage(AndroidDriver driver) {
         super(driver);
@@ -44,39 +51,17 @@ public class DrawingPage extends BasePage {
      * Checks if Drawing page is displayed.
      */
     public boolean isDrawingPageDisplayed() {
-        waitFor(2);
-        try {
-            // Try multiple ways to find the Drawing page
-            try {
-                WebElement title = driver.findElement(AppiumBy.androidUIAutomator(
-                        "new UiSelector().text(\"Drawing\")"));
-                if (title.isDisplayed()) {
-                    return true;
-                }
-            } catch (Exception ignored) {}
-            
-            try {
-                return drawingTitle.isDisplayed();
-            } catch (Exception ignored) {}
-            
-            try {
-                return drawingCanvas.isDisplayed();
-            } catch (Exception ignored) {}
-            
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.DRAWING);
     }
 
     /**
-     * Captures screenshot of the canvas area for comparison.
+     * Captures screenshot of the canvas area and decodes it for comparison in the background.
      */
-    private byte[] captureCanvasScreenshot() {
+    private Future<ImageDiff.Luma> captureCanvasState() {
         try {
             WebElement canvas = getCanvasElement();
             if (canvas != null) {
-                return canvas.getScreenshotAs(OutputType.BYTES);
+                return ImageDiff.decodeAsync(canvas.getScreenshotAs(OutputType.BYTES));
             }
         } catch (Exception e) {
             logger.warn("Could not capture canvas screenshot: {}", e.getMessage());
@@ -84,6 +69,23 @@ public class DrawingPage extends BasePage {
         return null;
     }
 
+    /**
+     * Waits for a captured canvas state to be decoded.
+     */
+    private ImageDiff.Luma awaitCanvasState(Future<ImageDiff.Luma> state) {
+        if (state == null) {
+            return null;
+        }
+        try {
+            return state.get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Could not decode canvas screenshot: {}", e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Gets the canvas element with fallback locators.
      */
@@ -111,7 +113,7 @@ public class DrawingPage extends BasePage {
      */
     public void captureEmptyCanvasState() {
         waitFor(1);
-        canvasScreenshotBeforeDrawing = captureCanvasScreenshot();
+        canvasBeforeDrawing = captureCanvasState();
         logger.info("Captured empty canvas state for comparison");
     }
 
@@ -121,8 +123,8 @@ public class DrawingPage extends BasePage {
     public void drawSimpleShape() {
         try {
             // Capture canvas state before drawing
-            if (canvasScreenshotBeforeDrawing == null) {
-                canvasScreenshotBeforeDrawing = captureCanvasScreenshot();
+            if (canvasBeforeDrawing == null) {
+                canvasBeforeDrawing = captureCanvasState();
             }
 
             // Try to find the canvas element for coordinate calculation
@@ -135,40 +137,26 @@ public class DrawingPage extends BasePage {
                 centerY = rect.getY() + rect.getHeight() / 2;
             } else {
                 // Fallback to screen center
-                org.openqa.selenium.Dimension screenSize = driver.manage().window().getSize();
+                org.openqa.selenium.Dimension screenSize = getScreenSize();
                 centerX = screenSize.getWidth() / 2;
                 centerY = screenSize.getHeight() / 2;
             }
 
-            PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-            Sequence draw = new Sequence(finger, 1);
-
-            // Move to starting point
-            draw.addAction(finger.createPointerMove(Duration.ofMillis(0),
-                    PointerInput.Origin.viewport(), centerX - 100, centerY - 100));
-            // Press down
-            draw.addAction(finger.createPointerDown(0));
-            draw.addAction(new Pause(finger, Duration.ofMillis(100)));
-
             // Draw a square pattern
-            draw.addAction(finger.createPointerMove(Duration.ofMillis(300),
-                    PointerInput.Origin.viewport(), centerX + 100, centerY - 100));
-            draw.addAction(finger.createPointerMove(Duration.ofMillis(300),
-                    PointerInput.Origin.viewport(), centerX + 100, centerY + 100));
-            draw.addAction(finger.createPointerMove(Duration.ofMillis(300),
-                    PointerInput.Origin.viewport(), centerX - 100, centerY + 100));
-            draw.addAction(finger.createPointerMove(Duration.ofMillis(300),
-                    PointerInput.Origin.viewport(), centerX - 100, centerY - 100));
-
-            // Release
-            draw.addAction(finger.createPointerUp(0));
-
-            driver.perform(Collections.singletonList(draw));
+            Gesture.create()
+                    .polyline(List.of(
+                            new Point(centerX - 100, centerY - 100),
+                            new Point(centerX + 100, centerY - 100),
+                            new Point(centerX + 100, centerY + 100),
+                            new Point(centerX - 100, centerY + 100),
+                            new Point(centerX - 100, centerY - 100)
+                    ), Duration.ofMillis(1200))
+                    .perform(driver);
             logger.info("Drew a simple shape on the canvas at ({}, {})", centerX, centerY);
 
             // Capture canvas state after drawing
             waitFor(1);
-            canvasScreenshotAfterDrawing = captureCanvasScreenshot();
+            canvasAfterDrawing = captureCanvasState();
             logger.info("Captured canvas state after drawing");
 
         } catch (Exception e) {
@@ -177,86 +165,34 @@ public class DrawingPage extends BasePage {
     }
 
     /**
-     * Clicks the Save button using coordinate-based tap.
-     * Note: Uses only calculated coordinates to avoid Appium timeout issues.
+     * Clicks the Save button at the center of its bounds in the hierarchy.
+     * Avoids an element lookup, which is slow on this screen.
      */
     public void clickSave() {
-        waitFor(1);
-        
-        // Get screen dimensions for coordinate calculation
-        org.openqa.selenium.Dimension screenSize = driver.manage().window().getSize();
-        int screenWidth = screenSize.getWidth();
-        int screenHeight = screenSize.getHeight();
-        
-        // Save button is on the right side of the bottom toolbar
-        // Based on actual element position: bounds [670,2580] to [1220,2724], center at (945, 2652)
-        int saveX = (int)(screenWidth * 0.74);  // Right 3/4 of screen
-        int saveY = screenHeight - 200;  // Near bottom, above nav bar
-        
-        logger.info("Clicking Save button at calculated coordinates: ({}, {})", saveX, saveY);
-        
-        // Tap by coordinate
-        tapByCoordinate(saveX, saveY);
-        logger.info("Clicked 'Save' button at coordinates ({}, {})", saveX, saveY);
-        
+        tapToolbarButton("saveBtn", "Save", saveButton);
         // Wait for save action to complete
         waitFor(2);
     }
-    
-    /**
-     * Tap at specific coordinates using W3C Actions.
-     */
-    private void tapByCoordinate(int x, int y) {
-        try {
-            PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-            Sequence tap = new Sequence(finger, 1);
-            tap.addAction(finger.createPointerMove(Duration.ofMillis(0), PointerInput.Origin.viewport(), x, y));
-            tap.addAction(finger.createPointerDown(0));  // 0 for touch (not MouseButton)
-            tap.addAction(new Pause(finger, Duration.ofMillis(150)));
-            tap.addAction(finger.createPointerUp(0));  // 0 for touch (not MouseButton)
-            driver.perform(Collections.singletonList(tap));
-            logger.info("Tapped at coordinates ({}, {}) using W3C Actions", x, y);
-        } catch (Exception e) {
-            logger.warn("W3C tap failed, trying TouchAction fallback: {}", e.getMessage());
-            // Fallback: Use mobile tap command
-            try {
-                Map<String, Object> tapArgs = new HashMap<>();
-                tapArgs.put("x", x);
-                tapArgs.put("y", y);
-                driver.executeScript("mobile: tap", tapArgs);
-                logger.info("Tapped at coordinates ({}, {}) using mobile:tap", x, y);
-            } catch (Exception ex) {
-                logger.error("Both tap methods failed: {}", ex.getMessage());
-            }
-        }
-    }
 
     /**
-     * Clicks the Clear button using coordinate-based tap.
-     * Note: Uses only calculated coordinates to avoid Appium timeout issues.
+     * Clicks the Clear button at the center of its bounds in the hierarchy.
+     * Avoids an element lookup, which is slow on this screen.
      */
     public void clickClear() {
-        waitFor(1);
-        
-        // Get screen dimensions for coordinate calculation
-        org.openqa.selenium.Dimension screenSize = driver.manage().window().getSize();
-        int screenWidth = screenSize.getWidth();
-        int screenHeight = screenSize.getHeight();
-        
-        // Clear button is on the left side of the bottom toolbar
-        // Based on actual element position: bounds [60,2580] to [610,2724], center at (335, 2652)
-        int clearX = (int)(screenWidth * 0.26);  // Left 1/4 of screen
-        int clearY = screenHeight - 200;  // Near bottom, above nav bar
-        
-        logger.info("Clicking Clear button at calculated coordinates: ({}, {})", clearX, clearY);
-        
-        // Tap by coordinate
-        tapByCoordinate(clearX, clearY);
-        logger.info("Clicked 'Clear' button at coordinates ({}, {})", clearX, clearY);
-        
+        tapToolbarButton("clearBtn", "Clear", clearButton);
         waitFor(2);
     }
 
+    private void tapToolbarButton(String id, String text, WebElement button) {
+        if (tapByBounds(Screen.DRAWING, AppiumBy.id(id))
+                || tapByBounds(Screen.DRAWING, AppiumBy.androidUIAutomator("new UiSelector().text(\"" + text + "\")"))) {
+            logger.info("Clicked '{}' button", text);
+            return;
+        }
+        logger.warn("'{}' button not in the hierarchy, clicking the element", text);
+        click(button);
+    }
+
     /**
      * Checks if Save button is displayed.
      */
@@ -317,7 +253,9 @@ public class DrawingPage extends BasePage {
     }
 
     /**
-     * This method compares the current canvas state with the state before drawing by comparing screenshot.
+     * This method compares the current canvas state with the drawn and empty states by what the
+     * screenshots show: enough pixels must have changed since drawing, and the result must look
+     * like the empty canvas.
      * @return true if the canvas is verified to be cleared
      * @throws RuntimeException if verification fails
      */
@@ -325,23 +263,35 @@ public class DrawingPage extends BasePage {
         waitFor(2); // Wait for clear animation to complete
         
         // Capture current canvas state after clear
-        byte[] canvasAfterClear = captureCanvasScreenshot();
+        ImageDiff.Luma afterClear = awaitCanvasState(captureCanvasState());
+        ImageDiff.Luma afterDrawing = awaitCanvasState(canvasAfterDrawing);
         
-        // If we have the screenshot after drawing, compare with it
-        if (canvasScreenshotAfterDrawing != null && canvasAfterClear != null) {
-            // Compare screenshots - after clear MUST be different from after drawing
-            boolean differentFromDrawnState = !Arrays.equals(canvasAfterClear, canvasScreenshotAfterDrawing);
-            if (!differentFromDrawnState) {
-                throw new RuntimeException("STRICT VERIFICATION FAILED: Canvas screenshot after clear is IDENTICAL to drawn state - clear action did NOT work!");
+        // If we have the state after drawing, compare with it
+        if (afterDrawing != null && afterClear != null) {
+            // After clear MUST be different from after drawing
+            double changed = ImageDiff.differenceRatio(afterClear, afterDrawing, CANVAS_PIXEL_THRESHOLD);
+            if (changed <= MIN_CLEAR_CHANGE) {
+                throw new RuntimeException(String.format("STRICT VERIFICATION FAILED: Canvas after clear matches drawn state "
+                        + "(%.3f%% of pixels changed) - clear action did NOT work!", changed * 100));
             }
-            logger.info("STRICT VERIFICATION PASSED: Canvas is DIFFERENT from drawn state after clear");
+            logger.info("STRICT VERIFICATION PASSED: {}% of canvas pixels changed after clear",
+                    String.format("%.3f", changed * 100));
 
         }  else {
             logger.warn("No drawn state screenshot available for comparison");
         }
+
+        ImageDiff.Luma empty = awaitCanvasState(canvasBeforeDrawing);
+        if (empty != null && afterClear != null) {
+            ImageDiff.Result result = ImageDiff.compare(afterClear, empty, CANVAS_PIXEL_THRESHOLD);
+            if (!result.isSimilar(EMPTY_CANVAS_TOLERANCE)) {
+                throw new RuntimeException("STRICT VERIFICATION FAILED: Canvas after clear differs from the empty canvas: "
+                        + result + " (tolerance " + EMPTY_CANVAS_TOLERANCE + ")");
+            }
+            logger.info("Canvas after clear matches the empty canvas");
+        }
         
         logger.info("Canvas clear verification PASSED - canvas confirmed cleared");
         return true;
     }
 }
-
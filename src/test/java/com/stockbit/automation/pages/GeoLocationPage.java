@@ -35,12 +35,7 @@ public class GeoLocationPage extends BasePage {
      * Checks if Geo Location page is displayed.
      */
     public boolean isGeoLocationPageDisplayed() {
-        waitFor(2);
-        try {
-            return isDisplayed(geoLocationTitle) || isDisplayed(startObservingButton);
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.GEO_LOCATION);
     }
 
     /**
@@ -0,0 +1,278 @@
+package com.stockbit.automation.pages;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resource ids, content descriptions and texts of one UI hierarchy dump.
+ * <p>
+ * One {@code getPageSource} call answers any number of "is this element on screen" questions,
+ * without implicit waits, which is what screen recognition needs. The element tree itself is
+ * only parsed when a page reads values from it, see {@link #getNodes()}.
+ */
+public class HierarchySnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(HierarchySnapshot.class);
+    private static final Pattern ATTRIBUTE = Pattern.compile("\\s(resource-id|content-desc|text)=\"([^\"]*)\"");
+    private static final Pattern BOUNDS = Pattern.compile("\\[(-?\\d+),(-?\\d+)]\\[(-?\\d+),(-?\\d+)]");
+
+    /**
+     * One element of the hierarchy. Absent attributes are empty strings.
+     *
+     * @param index              position in document order
+     * @param parent             index of the parent element, -1 for the root
+     * @param depth              nesting depth, 0 for the root
+     * @param className          element class, e.g. {@code android.widget.TextView}
+     * @param resourceId         resource id including the package
+     * @param contentDescription content description
+     * @param text               text
+     * @param scrollable         whether the element scrolls
+     * @param bounds             on-screen bounds, or null if the dump has none
+     */
+    public record Node(int index, int parent, int depth, String className, String resourceId,
+                       String contentDescription, String text, boolean scrollable, Rectangle bounds) {
+
+        /**
+         * Whether the element has the given resource id. Ids without a package match any package.
+         */
+        public boolean hasId(String id) {
+            return matchesId(resourceId, id);
+        }
+    }
+
+    private final String pageSource;
+    private List<Node> nodes;
+
+    private final Set<String> resourceIds = new HashSet<>();
+    private final Set<String> contentDescriptions = new HashSet<>();
+    private final Set<String> texts = new HashSet<>();
+    private final Set<String> features = new HashSet<>();
+
+    /**
+     * Parses a hierarchy dump as returned by {@code getPageSource}.
+     *
+     * @param pageSource hierarchy XML
+     */
+    public HierarchySnapshot(String pageSource) {
+        this.pageSource = pageSource == null ? "" : pageSource;
+        Matcher matcher = ATTRIBUTE.matcher(this.pageSource);
+        while (matcher.find()) {
+            String value = unescape(matcher.group(2));
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (matcher.group(1)) {
+                case "resource-id" -> {
+                    resourceIds.add(value);
+                    features.add(ScreenSignature.id(value));
+                }
+                case "content-desc" -> {
+                    contentDescriptions.add(value);
+                    features.add(ScreenSignature.description(value));
+                }
+                default -> {
+                    texts.add(value);
+                    features.add(ScreenSignature.text(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current screen.
+     *
+     * @param driver current driver
+     * @return parsed snapshot
+     */
+    public static HierarchySnapshot capture(AndroidDriver driver) {
+        return new HierarchySnapshot(driver.getPageSource());
+    }
+
+    /**
+     * Whether an element with the given resource id is present. Ids without a package
+     * ({@code productTV}) match any package.
+     */
+    public boolean hasId(String id) {
+        if (id.contains(":id/")) {
+            return resourceIds.contains(id);
+        }
+        return resourceIds.stream().anyMatch(r -> matchesId(r, id));
+    }
+
+    /**
+     * Whether an element with the given content description is present.
+     */
+    public boolean hasDescription(String description) {
+        return contentDescriptions.contains(description);
+    }
+
+    /**
+     * Whether an element with exactly the given text is present.
+     */
+    public boolean hasText(String text) {
+        return texts.contains(text);
+    }
+
+    /**
+     * Whether any element's text contains the given fragment.
+     */
+    public boolean hasTextContaining(String fragment) {
+        return texts.stream().anyMatch(t -> t.contains(fragment));
+    }
+
+    /**
+     * Gets all resource ids in the snapshot.
+     */
+    public Set<String> getResourceIds() {
+        return Collections.unmodifiableSet(resourceIds);
+    }
+
+    /**
+     * Gets the snapshot's elements as {@link ScreenSignature} features.
+     */
+    public Set<String> getFeatures() {
+        return Collections.unmodifiableSet(features);
+    }
+
+    /**
+     * Gets every element of the hierarchy in document order. Parsed on first use.
+     */
+    public List<Node> getNodes() {
+        if (nodes == null) {
+            nodes = Collections.unmodifiableList(parse(pageSource));
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the elements matching the condition, in document order.
+     */
+    public List<Node> find(Predicate<Node> condition) {
+        return getNodes().stream().filter(condition).toList();
+    }
+
+    /**
+     * Gets the elements with the given resource id, in document order.
+     */
+    public List<Node> findById(String id) {
+        return find(node -> node.hasId(id));
+    }
+
+    /**
+     * Gets the elements with the given content description, in document order.
+     */
+    public List<Node> findByDescription(String description) {
+        return find(node -> node.contentDescription().equals(description));
+    }
+
+    /**
+     * Gets the direct children of an element.
+     */
+    public List<Node> children(Node node) {
+        return descendants(node).stream().filter(child -> child.parent() == node.index()).toList();
+    }
+
+    /**
+     * Gets every element below an element, in document order.
+     */
+    public List<Node> descendants(Node node) {
+        List<Node> all = getNodes();
+        int end = node.index() + 1;
+        while (end < all.size() && all.get(end).depth() > node.depth()) {
+            end++;
+        }
+        return all.subList(node.index() + 1, end);
+    }
+
+    /**
+     * Gets the parent of an element, or null for the root.
+     */
+    public Node parent(Node node) {
+        return node.parent() < 0 ? null : getNodes().get(node.parent());
+    }
+
+    private static boolean matchesId(String resourceId, String id) {
+        return resourceId.equals(id) || (!id.contains(":id/") && resourceId.endsWith(":id/" + id));
+    }
+
+    private static List<Node> parse(String pageSource) {
+        List<Node> parsed = new ArrayList<>();
+        if (pageSource.isEmpty()) {
+            return parsed;
+        }
+        Deque<Integer> open = new ArrayDeque<>();
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.newSAXParser().parse(new InputSource(new StringReader(pageSource)), new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    String className = attributes.getValue("class");
+                    parsed.add(new Node(parsed.size(), open.isEmpty() ? -1 : open.peek(), open.size(),
+                            className == null ? qName : className,
+                            value(attributes, "resource-id"),
+                            value(attributes, "content-desc"),
+                            value(attributes, "text"),
+                            "true".equals(attributes.getValue("scrollable")),
+                            bounds(attributes.getValue("bounds"))));
+                    open.push(parsed.size() - 1);
+                }
+
+                @Override
+                public void endElement(String uri, String localName, String qName) {
+                    open.pop();
+                }
+            });
+        } catch (Exception e) {
+            // Keep the elements read before the error
+            logger.debug("Could not parse the whole hierarchy, {} elements read: {}", parsed.size(), e.getMessage());
+        }
+        return parsed;
+    }
+
+    private static String value(Attributes attributes, String name) {
+        String value = attributes.getValue(name);
+        return value == null ? "" : value;
+    }
+
+    private static Rectangle bounds(String bounds) {
+        Matcher matcher = BOUNDS.matcher(bounds == null ? "" : bounds);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int left = Integer.parseInt(matcher.group(1));
+        int top = Integer.parseInt(matcher.group(2));
+        int right = Integer.parseInt(matcher.group(3));
+        int bottom = Integer.parseInt(matcher.group(4));
+        return new Rectangle(left, top, bottom - top, right - left);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&amp;", "&");
+    }
+}
@@ -124,6 +124,7 @@ public class HomePage extends BasePage {
      * Clicks on sort button.
      */
     public void clickSortButton() {
+        CatalogPage.markRearranged();
         click(sortButton);
         logger.info("Clicked sort button");
     }
@@ -33,12 +33,7 @@ public class LoginMenuPage extends BasePage {
      * Checks if Login page is displayed.
      */
     public boolean isLoginPageDisplayed() {
-        waitFor(2);
-        try {
-            return isDisplayed(usernameField) || isDisplayed(loginTitle);
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.LOGIN);
     }
 
     /**
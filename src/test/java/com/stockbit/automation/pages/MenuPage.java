@@ -3,13 +3,25 @@ package com.stockbit.automation.pages;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Menu Page Object representing the burger menu navigation.
+ * <p>
+ * Navigation to screens known to {@link ScreenGraph} takes the cheapest planned path from the
+ * recognized current screen, which is often a back press or deep link instead of the menu.
  */
 public class MenuPage extends BasePage {
 
+    private static final int MAX_HOPS = 4;
+    private static final Duration LANDING_TIMEOUT = Duration.ofSeconds(8);
+    private static final Duration LANDING_POLLING = Duration.ofMillis(250);
+
     @AndroidFindBy(accessibility = "View menu")
     private WebElement burgerMenuButton;
 
@@ -24,9 +36,10 @@ public class MenuPage extends BasePage {
      * Opens the burger menu.
      */
     public void openMenu() {
+        ensureAppInForeground();
         click(burgerMenuButton);
         logger.info("Opened burger menu");
-        waitFor(1);
+        waitForVisibility(menuItemLocator("Catalog"));
     }
 
     /**
@@ -42,7 +55,7 @@ public class MenuPage extends BasePage {
      * Navigates to Cart page.
      */
     public void navigateToCart() {
-        navigateTo("Catalog");
+        navigateTo(Screen.CART);
         logger.info("Navigated to Cart");
     }
 
@@ -142,17 +155,100 @@ public class MenuPage extends BasePage {
         return isDisplayed(burgerMenuButton);
     }
 
+    /**
+     * Clicks a menu item, opening the menu first if asked to.
+     *
+     * @param text     menu item text
+     * @param openMenu whether the menu still has to be opened
+     */
+    public void selectMenuItem(String text, boolean openMenu) {
+        if (openMenu) {
+            openMenu();
+        }
+        click(menuItemByText(text));
+    }
+
+    private By menuItemLocator(String text) {
+        return AppiumBy.androidUIAutomator("new UiSelector().text(\"" + text + "\")");
+    }
+
     private WebElement menuItemByText(String text) {
-        waitFor(2); // Wait for menu animation to complete
-        return driver.findElement(AppiumBy.androidUIAutomator(
-                "new UiSelector().text(\"" + text + "\")"
-        ));
+        return waitForVisibility(menuItemLocator(text));
     }
 
+    /**
+     * Navigates to a menu item. Items whose screen is in the {@link ScreenGraph} are reached
+     * by the planned path; the rest through the menu.
+     *
+     * @param menuName menu item text
+     */
     public void navigateTo(String menuName) {
-        openMenu();
-        click(menuItemByText(menuName));
+        ScreenGraph.screenForMenuItem(menuName).ifPresentOrElse(
+                this::navigateTo,
+                () -> selectMenuItem(menuName, true));
         logger.info("Navigated to {}", menuName);
     }
-}
 
+    /**
+     * Navigates to a screen along the cheapest path from the current one. Each hop is checked
+     * by recognizing the screen it landed on, and the path is re-planned from there; when no
+     * path gets there the menu is used directly.
+     *
+     * @param target screen to reach
+     */
+    public void navigateTo(Screen target) {
+        Screen current = Screen.recognize(HierarchySnapshot.capture(driver));
+        for (int hop = 0; hop < MAX_HOPS && current != target; hop++) {
+            List<ScreenGraph.Transition> path = ScreenGraph.plan(current, target);
+            if (path.isEmpty()) {
+                break;
+            }
+            ScreenGraph.Transition next = path.get(0);
+            logger.debug("On {}, taking {} ({} hops planned)", current, next, path.size());
+            long start = System.currentTimeMillis();
+            try {
+                next.action().accept(driver);
+                current = awaitScreen(next.to());
+            } catch (Exception e) {
+                logger.warn("Transition {} failed: {}", next, e.getMessage());
+                current = Screen.recognize(HierarchySnapshot.capture(driver));
+            }
+            ScreenGraph.record(next, System.currentTimeMillis() - start, current == next.to());
+        }
+        if (current != target) {
+            logger.warn("Planner did not reach {} (on {}), using the menu", target, current);
+            fallBackToMenu(target);
+        }
+    }
+
+    private void fallBackToMenu(Screen target) {
+        if (target == Screen.CART) {
+            click(driver.findElement(AppiumBy.accessibilityId("View cart")));
+            return;
+        }
+        ScreenGraph.menuItemFor(target).ifPresentOrElse(
+                item -> selectMenuItem(item, true),
+                () -> {
+                    throw new IllegalStateException("No way to navigate to " + target);
+                });
+    }
+
+    /**
+     * Waits until the expected screen is recognized and returns the last recognized screen.
+     */
+    private Screen awaitScreen(Screen expected) {
+        Screen[] last = {Screen.UNKNOWN};
+        try {
+            new FluentWait<>(driver)
+                    .withTimeout(LANDING_TIMEOUT)
+                    .pollingEvery(LANDING_POLLING)
+                    .until(d -> {
+                        last[0] = Screen.recognize(HierarchySnapshot.capture(d));
+                        return last[0] == expected;
+                    });
+        } catch (Exception e) {
+            logger.debug("Expected {} but recognized {}", expected, last[0]);
+        }
+        return last[0];
+    }
+}
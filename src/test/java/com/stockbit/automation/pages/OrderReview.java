@@ -0,0 +1,40 @@
+package com.stockbit.automation.pages;
+
+import java.util.List;
+
+/**
+ * Values shown on the review order page, read from one hierarchy snapshot.
+ * Absent values are empty strings.
+ *
+ * @param productNames    names of the ordered products, in display order
+ * @param deliveryName    delivery address name
+ * @param deliveryAddress delivery street address
+ * @param deliveryCity    delivery city
+ * @param deliveryCountry delivery country
+ * @param cardHolder      payment card holder
+ * @param cardNumber      masked card number
+ * @param cardExpiry      card expiry
+ * @param totalPrice      total price text
+ */
+public record OrderReview(List<String> productNames, String deliveryName, String deliveryAddress,
+                          String deliveryCity, String deliveryCountry, String cardHolder,
+                          String cardNumber, String cardExpiry, String totalPrice) {
+
+    public OrderReview {
+        productNames = List.copyOf(productNames);
+    }
+
+    /**
+     * Gets number of products in the order.
+     */
+    public int itemCount() {
+        return productNames.size();
+    }
+
+    /**
+     * Gets the delivery address, one line per field.
+     */
+    public String fullDeliveryAddress() {
+        return String.join("\n", deliveryName, deliveryAddress, deliveryCity, deliveryCountry);
+    }
+}
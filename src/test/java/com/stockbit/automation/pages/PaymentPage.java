@@ -1,5 +1,6 @@
 package com.stockbit.automation.pages;
 
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.WebElement;
@@ -128,8 +129,7 @@ public class PaymentPage extends BasePage {
      * Clicks Review Order button.
      */
     public void clickReviewOrder() {
-        scrollDown();
-        click(reviewOrderButton);
+        click(scrollToElement(AppiumBy.id("com.saucelabs.mydemoapp.android:id/paymentBtn")));
         logger.info("Clicked Review Order button");
     }
 
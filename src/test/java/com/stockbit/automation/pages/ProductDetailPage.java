@@ -66,35 +66,7 @@ public class ProductDetailPage extends BasePage {
      * Checks if product detail page is displayed.
      */
     public boolean isProductDetailDisplayed() {
-        waitFor(2);
-        
-        // Try add to cart button first (most reliable indicator)
-        try {
-            WebElement addBtn = driver.findElement(AppiumBy.id("com.saucelabs.mydemoapp.android:id/cartBt"));
-            if (addBtn.isDisplayed()) {
-                return true;
-            }
-        } catch (Exception e) {
-            logger.debug("Add to cart button not found via ID");
-        }
-        
-        // Fallback: try accessibility id
-        try {
-            WebElement addBtn = driver.findElement(AppiumBy.accessibilityId("Tap to add product to cart"));
-            if (addBtn.isDisplayed()) {
-                return true;
-            }
-        } catch (Exception e) {
-            logger.debug("Add to cart button not found via accessibility");
-        }
-        
-        // Fallback: check for product title
-        try {
-            WebElement title = driver.findElement(AppiumBy.id("com.saucelabs.mydemoapp.android:id/productTV"));
-            return title.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.PRODUCT_DETAIL);
     }
 
     /**
@@ -223,15 +195,12 @@ public class ProductDetailPage extends BasePage {
      * Sets specific quantity.
      */
     public void setQuantity(int quantity) {
-        // Get current quantity and adjust
+        // Get current quantity and adjust with all taps in one request
         int current = getCurrentQuantity();
-        while (current < quantity) {
-            increaseQuantity();
-            current++;
-        }
-        while (current > quantity && current > 1) {
-            decreaseQuantity();
-            current--;
+        if (current < quantity) {
+            tapRepeatedly(plusButton, quantity - current);
+        } else if (current > quantity) {
+            tapRepeatedly(minusButton, current - Math.max(quantity, 1));
         }
         logger.info("Set quantity to: {}", quantity);
     }
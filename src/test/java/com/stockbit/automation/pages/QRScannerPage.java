@@ -1,15 +1,20 @@
 package com.stockbit.automation.pages;
 
-import io.appium.java_client.AppiumBy;
+import com.stockbit.automation.drivers.SystemDialogWatcher;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.WebElement;
 
+import java.time.Duration;
+
 /**
  * QR Scanner Page Object for testing QR code scanner functionality.
  */
 public class QRScannerPage extends BasePage {
 
+    /** The permission dialog can appear a moment after the scanner is opened. */
+    private static final Duration PERMISSION_PROMPT_WAIT = Duration.ofSeconds(3);
+
     @AndroidFindBy(uiAutomator = "new UiSelector().textContains(\"QR Code\")")
     private WebElement qrScannerTitle;
 
@@ -27,12 +32,7 @@ public class QRScannerPage extends BasePage {
      * Checks if QR Scanner page is displayed.
      */
     public boolean isQRScannerPageDisplayed() {
-        waitFor(2);
-        try {
-            return isDisplayed(qrScannerTitle) || isDisplayed(cameraPreview) || isDisplayed(scannerView);
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.QR_SCANNER);
     }
 
     /**
@@ -48,41 +48,14 @@ public class QRScannerPage extends BasePage {
 
     /**
      * Grants camera permission if prompted.
+     * The permission dialog is answered by {@link SystemDialogWatcher} using the configured policy;
+     * it is given a few seconds to appear before concluding there is no prompt.
      */
     public void grantCameraPermissionIfPrompted() {
-        try {
-            // Try different permission button locators for different Android versions
-            WebElement allowButton = null;
-            
-            try {
-                allowButton = driver.findElement(AppiumBy.id("com.android.permissioncontroller:id/permission_allow_foreground_only_button"));
-            } catch (Exception e1) {
-                try {
-                    allowButton = driver.findElement(AppiumBy.id("com.android.permissioncontroller:id/permission_allow_button"));
-                } catch (Exception e2) {
-                    try {
-                        allowButton = driver.findElement(AppiumBy.androidUIAutomator(
-                                "new UiSelector().text(\"While using the app\")"
-                        ));
-                    } catch (Exception e3) {
-                        try {
-                            allowButton = driver.findElement(AppiumBy.androidUIAutomator(
-                                    "new UiSelector().text(\"Allow\")"
-                            ));
-                        } catch (Exception e4) {
-                            logger.info("No permission dialog found");
-                            return;
-                        }
-                    }
-                }
-            }
-            
-            if (allowButton != null && allowButton.isDisplayed()) {
-                click(allowButton);
-                logger.info("Granted camera permission");
-            }
-        } catch (Exception e) {
-            logger.info("Camera permission prompt not found or already granted");
+        if (SystemDialogWatcher.awaitAndDismiss(driver, PERMISSION_PROMPT_WAIT) == SystemDialogWatcher.DialogType.PERMISSION) {
+            logger.info("Answered camera permission prompt");
+        } else {
+            logger.info("No permission dialog found");
         }
     }
 
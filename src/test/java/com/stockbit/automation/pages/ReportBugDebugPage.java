@@ -54,38 +54,7 @@ public class ReportBugDebugPage extends BasePage {
      * Checks if Report Bug Debug page is displayed.
      */
     public boolean isReportBugDebugPageDisplayed() {
-        waitFor(2);
-        try {
-            // Look for the "Debug" title
-            if (isDisplayed(debugTitle)) {
-                logger.info("Report Bug Debug page detected by 'Debug' title");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find 'Debug' title");
-        }
-        try {
-            // Fallback: look for the first report button
-            if (isDisplayed(reportWithScreenshotButton)) {
-                logger.info("Report Bug Debug page detected by report button");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find report button");
-        }
-        try {
-            // Another fallback: look for any "REPORT A BUG" text
-            WebElement reportButton = driver.findElement(AppiumBy.androidUIAutomator(
-                    "new UiSelector().text(\"REPORT A BUG\")"
-            ));
-            if (reportButton.isDisplayed()) {
-                logger.info("Report Bug Debug page detected by 'REPORT A BUG' text");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find 'REPORT A BUG' button");
-        }
-        return false;
+        return isScreenDisplayed(Screen.REPORT_BUG_DEBUG);
     }
 
     /**
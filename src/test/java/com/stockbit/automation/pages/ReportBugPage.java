@@ -37,36 +37,7 @@ public class ReportBugPage extends BasePage {
      * Checks if Report Bug (Feedback) page is displayed.
      */
     public boolean isReportBugPageDisplayed() {
-        waitFor(2);
-        try {
-            // Look for the title "Feedback"
-            if (isDisplayed(feedbackTitle)) {
-                logger.info("Report Bug page detected by title 'Feedback'");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find 'Feedback' title");
-        }
-        try {
-            // Fallback: look for message input field
-            if (isDisplayed(feedbackInputField)) {
-                logger.info("Report Bug page detected by message input field");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find message input field");
-        }
-        try {
-            // Fallback: look for send button by accessibility id
-            WebElement sendBtn = driver.findElement(AppiumBy.accessibilityId("Send"));
-            if (sendBtn.isDisplayed()) {
-                logger.info("Report Bug page detected by Send button");
-                return true;
-            }
-        } catch (Exception e) {
-            logger.info("Could not find Send button");
-        }
-        return false;
+        return isScreenDisplayed(Screen.REPORT_BUG);
     }
 
     /**
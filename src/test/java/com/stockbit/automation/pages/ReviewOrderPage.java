@@ -1,10 +1,12 @@
 package com.stockbit.automation.pages;
 
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -12,6 +14,13 @@ import java.util.List;
  */
 public class ReviewOrderPage extends BasePage {
 
+    private static final String DELIVERY_ADDRESS = "delivery address";
+    private static final String PAYMENT_INFO = "payment info";
+    private static final String TOTAL_PRICE = "total price";
+    private static final int DELIVERY_FIELDS = 4;
+    private static final int PAYMENT_FIELDS = 3;
+    private static final int MAX_BLOCK_SCROLLS = 2;
+
     @AndroidFindBy(uiAutomator = "new UiSelector().text(\"Review your order\")")
     private WebElement reviewOrderTitle;
 
@@ -27,9 +36,6 @@ public class ReviewOrderPage extends BasePage {
     @AndroidFindBy(xpath = "//android.widget.TextView[contains(@text, 'Payment Method')]")
     private WebElement paymentMethodLabel;
 
-    @AndroidFindBy(accessibility = "total price")
-    private WebElement totalPrice;
-
     // Delivery address details
     @AndroidFindBy(xpath = "(//android.widget.TextView[@content-desc='delivery address'])[1]")
     private WebElement deliveryName;
@@ -78,6 +84,98 @@ public class ReviewOrderPage extends BasePage {
         }
     }
 
+    /**
+     * Reads the order from one hierarchy snapshot. Fields are taken by position, so a block
+     * counts only when all of its fields are shown; when the delivery or payment details are
+     * missing or cut off by the fold, scrolls to each such block and reads it again there.
+     *
+     * @return values shown on the page
+     */
+    public OrderReview snapshot() {
+        HierarchySnapshot hierarchy = awaitSnapshot(Screen.REVIEW_ORDER);
+        List<String> productNames = productNames(hierarchy);
+        List<String> delivery = texts(hierarchy, DELIVERY_ADDRESS);
+        List<String> payment = texts(hierarchy, PAYMENT_INFO);
+        List<String> total = texts(hierarchy, TOTAL_PRICE);
+        if (delivery.size() < DELIVERY_FIELDS) {
+            hierarchy = reveal(DELIVERY_ADDRESS, DELIVERY_FIELDS);
+            delivery = fuller(delivery, texts(hierarchy, DELIVERY_ADDRESS));
+            payment = fuller(payment, texts(hierarchy, PAYMENT_INFO));
+            total = total.isEmpty() ? texts(hierarchy, TOTAL_PRICE) : total;
+            productNames = productNames.isEmpty() ? productNames(hierarchy) : productNames;
+        }
+        if (payment.size() < PAYMENT_FIELDS) {
+            hierarchy = reveal(PAYMENT_INFO, PAYMENT_FIELDS);
+            payment = fuller(payment, texts(hierarchy, PAYMENT_INFO));
+            total = total.isEmpty() ? texts(hierarchy, TOTAL_PRICE) : total;
+        }
+        if (delivery.size() < DELIVERY_FIELDS || payment.size() < PAYMENT_FIELDS) {
+            logger.warn("Order review read incompletely: {} delivery and {} payment fields",
+                    delivery.size(), payment.size());
+        }
+        return new OrderReview(productNames,
+                at(delivery, 0), at(delivery, 1), at(delivery, 2), at(delivery, 3),
+                at(payment, 0), at(payment, 1), at(payment, 2),
+                at(total, 0));
+    }
+
+    /**
+     * Scrolls until the block with the given description is shown and captures the hierarchy there.
+     */
+    private HierarchySnapshot scrollTo(String description) {
+        try {
+            scrollToElement(AppiumBy.accessibilityId(description));
+        } catch (Exception e) {
+            logger.debug("'{}' not found by scrolling: {}", description, e.getMessage());
+        }
+        return HierarchySnapshot.capture(driver);
+    }
+
+    /**
+     * Scrolls until every field of a block is shown and captures the hierarchy there. A block
+     * scrolled into view first shows at the bottom edge, so a partly shown one is scrolled on.
+     */
+    private HierarchySnapshot reveal(String description, int fields) {
+        HierarchySnapshot hierarchy = scrollTo(description);
+        for (int i = 0; i < MAX_BLOCK_SCROLLS && texts(hierarchy, description).size() < fields; i++) {
+            scrollDown();
+            hierarchy = HierarchySnapshot.capture(driver);
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Keeps the earlier reading of a block unless the later one shows more of its fields.
+     */
+    private static List<String> fuller(List<String> earlier, List<String> later) {
+        return later.size() > earlier.size() ? later : earlier;
+    }
+
+    private static List<String> productNames(HierarchySnapshot hierarchy) {
+        List<HierarchySnapshot.Node> rows = hierarchy.findByDescription("product row");
+        if (rows.isEmpty()) {
+            // Rows without a description: the containers of the product images
+            rows = hierarchy.findById("productIV").stream().map(hierarchy::parent).distinct().toList();
+        }
+        List<String> names = new ArrayList<>();
+        for (HierarchySnapshot.Node row : rows) {
+            names.add(hierarchy.descendants(row).stream()
+                    .filter(node -> !node.text().isEmpty() && !node.text().startsWith("$"))
+                    .map(HierarchySnapshot.Node::text)
+                    .findFirst()
+                    .orElse(""));
+        }
+        return names;
+    }
+
+    private static List<String> texts(HierarchySnapshot hierarchy, String description) {
+        return hierarchy.findByDescription(description).stream().map(HierarchySnapshot.Node::text).toList();
+    }
+
+    private static String at(List<String> values, int index) {
+        return index < values.size() ? values.get(index) : "";
+    }
+
     /**
      * Gets number of items in order.
      * Uses multiple strategies to find product items on the review page.
@@ -134,8 +232,7 @@ public class ReviewOrderPage extends BasePage {
      * Gets total price.
      */
     public String getTotalPrice() {
-        scrollDown();
-        return getText(totalPrice);
+        return getText(scrollToElement(AppiumBy.accessibilityId(TOTAL_PRICE)));
     }
 
     /**
@@ -470,8 +567,7 @@ public class ReviewOrderPage extends BasePage {
      * Clicks Place Order button.
      */
     public void clickPlaceOrder() {
-        scrollDown();
-        click(placeOrderButton);
+        click(scrollToText("Place Order"));
         logger.info("Clicked Place Order button");
     }
 
@@ -0,0 +1,100 @@
+package com.stockbit.automation.pages;
+
+import static com.stockbit.automation.pages.ScreenSignature.description;
+import static com.stockbit.automation.pages.ScreenSignature.id;
+import static com.stockbit.automation.pages.ScreenSignature.text;
+
+/**
+ * Screens of the app under test, each with the {@link ScreenSignature} it is recognized by.
+ * Overlays (the open menu) are declared before the screens they cover, which decides ties in
+ * {@link ScreenRecognizer}.
+ */
+public enum Screen {
+
+    MENU(ScreenSignature.builder()
+            .text("Reset App State")
+            .text("QR Code Scanner")
+            .anyOf(text("Log In"), text("Log Out"))
+            .build()),
+    PRODUCT_DETAIL(ScreenSignature.builder()
+            .anyOf(id("cartBt"), description("Tap to add product to cart"))
+            .id("productTV")
+            .build()),
+    CART(ScreenSignature.builder()
+            .anyOf(id("totalPriceTV"), id("shoppingBt"))
+            .build()),
+    CHECKOUT_COMPLETE(ScreenSignature.builder()
+            .text("Checkout Complete")
+            .build()),
+    REVIEW_ORDER(ScreenSignature.builder()
+            .anyOf(text("Review your order"), text("Place Order"))
+            .build()),
+    PAYMENT(ScreenSignature.builder()
+            .id("cardNumberET")
+            .build()),
+    SHIPPING_ADDRESS(ScreenSignature.builder()
+            .id("fullNameET")
+            .id("address1ET")
+            .build()),
+    LOGIN(ScreenSignature.builder()
+            .id("nameET")
+            .id("passwordET")
+            .id("loginBtn")
+            .build()),
+    WEBVIEW(ScreenSignature.builder()
+            .id("urlET")
+            .id("goBtn")
+            .build()),
+    GEO_LOCATION(ScreenSignature.builder()
+            .id("startBtn")
+            .id("latitudeTV")
+            .build()),
+    DRAWING(ScreenSignature.builder()
+            .anyOf(id("drawingTV"), id("signature_pad"))
+            .build()),
+    ABOUT(ScreenSignature.builder()
+            .anyOf(id("aboutTV"), id("webTV"))
+            .build()),
+    QR_SCANNER(ScreenSignature.builder()
+            .anyOf(id("cameraView"), id("scannerView"))
+            .build()),
+    REPORT_BUG(ScreenSignature.builder()
+            .text("Feedback")
+            .anyOf(description("Your message"), description("Send"))
+            .build()),
+    REPORT_BUG_DEBUG(ScreenSignature.builder()
+            .id("yes_screenshot_report_button")
+            .id("no_screenshot_report_button")
+            .build()),
+    CRASH_APP_DEBUG(ScreenSignature.builder()
+            .anyOf(id("crashBtn"), id("crashButton"))
+            .build()),
+    CATALOG(ScreenSignature.builder()
+            .id("productTV")
+            .description("sort button")
+            .build()),
+    UNKNOWN(ScreenSignature.builder().build());
+
+    private final ScreenSignature signature;
+
+    Screen(ScreenSignature signature) {
+        this.signature = signature;
+    }
+
+    /**
+     * Gets the signature this screen is recognized by.
+     */
+    public ScreenSignature getSignature() {
+        return signature;
+    }
+
+    /**
+     * Recognizes the screen shown in a snapshot.
+     *
+     * @param snapshot current hierarchy
+     * @return recognized screen, or {@link #UNKNOWN}
+     */
+    public static Screen recognize(HierarchySnapshot snapshot) {
+        return ScreenRecognizer.recognize(snapshot).screen();
+    }
+}
@@ -0,0 +1,202 @@
+package com.stockbit.automation.pages;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.nativekey.AndroidKey;
+import io.appium.java_client.android.nativekey.KeyEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Declarative navigation graph over {@link Screen}s.
+ * <p>
+ * Edges are the ways the app moves between screens: menu items, the back key, the direct
+ * launches of {@link ScreenLauncher} and in-screen controls such as the cart badge. Each edge
+ * starts with an estimated cost and learns the measured one as it is used; an edge that lands
+ * on the wrong screen is charged a penalty, so a broken deep link stops being chosen.
+ * {@link #plan(Screen, Screen)} returns the cheapest path from the recognized screen, with
+ * edges whose source is {@code null} usable from any screen, including {@link Screen#UNKNOWN}.
+ */
+public final class ScreenGraph {
+
+    /**
+     * How a transition moves between screens.
+     */
+    public enum Kind {
+        MENU, BACK, DEEP_LINK, ACTIVITY, TAP
+    }
+
+    /**
+     * One edge of the graph.
+     *
+     * @param from          source screen, or {@code null} for any screen with the app toolbar
+     * @param to            screen the transition should land on
+     * @param kind          transition kind
+     * @param label         menu item, link path or control the transition uses
+     * @param initialCostMs cost estimate used until the edge has been measured
+     * @param action        performs the transition
+     */
+    public record Transition(Screen from, Screen to, Kind kind, String label, long initialCostMs,
+                             Consumer<AndroidDriver> action) {
+
+        boolean appliesFrom(Screen screen) {
+            if (from != null) {
+                return from == screen;
+            }
+            // The toolbar, and with it the burger and cart buttons, is hidden behind the open menu
+            return screen != Screen.MENU || kind == Kind.DEEP_LINK || kind == Kind.ACTIVITY;
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(" + label + ") " + (from == null ? "*" : from) + " -> " + to;
+        }
+    }
+
+    private static final double COST_WEIGHT = 0.3;
+    private static final int FAILURE_PENALTY = 4;
+
+    private static final Map<String, Screen> MENU_ITEMS = Map.of(
+            "Catalog", Screen.CATALOG,
+            "Log In", Screen.LOGIN,
+            "WebView", Screen.WEBVIEW,
+            "Geo Location", Screen.GEO_LOCATION,
+            "Drawing", Screen.DRAWING,
+            "About", Screen.ABOUT
+    );
+
+    private static final List<Transition> TRANSITIONS = buildTransitions();
+    private static final Map<Transition, Long> measuredCosts = new ConcurrentHashMap<>();
+
+    private ScreenGraph() {
+    }
+
+    private static List<Transition> buildTransitions() {
+        List<Transition> transitions = new ArrayList<>();
+        MENU_ITEMS.forEach((item, screen) -> {
+            transitions.add(new Transition(null, screen, Kind.MENU, item, 2500,
+                    driver -> new MenuPage(driver).selectMenuItem(item, true)));
+            transitions.add(new Transition(Screen.MENU, screen, Kind.MENU, item, 1200,
+                    driver -> new MenuPage(driver).selectMenuItem(item, false)));
+        });
+        transitions.add(new Transition(null, Screen.CART, Kind.TAP, "View cart", 1000,
+                driver -> driver.findElement(AppiumBy.accessibilityId("View cart")).click()));
+        transitions.add(new Transition(Screen.PRODUCT_DETAIL, Screen.CATALOG, Kind.BACK, "back", 600,
+                ScreenGraph::pressBack));
+        for (Screen screen : Screen.values()) {
+            ScreenLauncher.launchTarget(screen).ifPresent(target -> transitions.add(new Transition(
+                    null, screen, target.startsWith("activity:") ? Kind.ACTIVITY : Kind.DEEP_LINK, target, 1500,
+                    driver -> new ScreenLauncher(driver).start(screen))));
+        }
+        return Collections.unmodifiableList(transitions);
+    }
+
+    private static void pressBack(AndroidDriver driver) {
+        driver.pressKey(new KeyEvent(AndroidKey.BACK));
+    }
+
+    /**
+     * Gets the screen a menu item leads to.
+     *
+     * @param menuItem menu item text
+     * @return screen, or empty when the item's screen is not part of the graph
+     */
+    public static Optional<Screen> screenForMenuItem(String menuItem) {
+        return Optional.ofNullable(MENU_ITEMS.get(menuItem));
+    }
+
+    /**
+     * Gets the menu item that leads to a screen.
+     *
+     * @param screen target screen
+     * @return menu item text, or empty when no menu item leads there
+     */
+    public static Optional<String> menuItemFor(Screen screen) {
+        return MENU_ITEMS.entrySet().stream()
+                .filter(entry -> entry.getValue() == screen)
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    /**
+     * Gets the direct launch edge of a screen.
+     *
+     * @param screen target screen
+     * @return deep link or activity transition, or empty when the screen has no launch target
+     */
+    public static Optional<Transition> launchTransition(Screen screen) {
+        return TRANSITIONS.stream()
+                .filter(t -> t.to() == screen && (t.kind() == Kind.DEEP_LINK || t.kind() == Kind.ACTIVITY))
+                .findFirst();
+    }
+
+    /**
+     * Gets the current cost of a transition: its measured average, or its estimate.
+     */
+    public static long cost(Transition transition) {
+        return measuredCosts.getOrDefault(transition, transition.initialCostMs());
+    }
+
+    /**
+     * Folds a measured duration into a transition's cost.
+     *
+     * @param transition transition that was taken
+     * @param elapsedMs  time until the target screen was recognized
+     * @param landed     whether the target screen was reached
+     */
+    public static void record(Transition transition, long elapsedMs, boolean landed) {
+        long sample = landed ? elapsedMs : Math.max(elapsedMs, cost(transition)) * FAILURE_PENALTY;
+        measuredCosts.merge(transition, sample,
+                (old, value) -> Math.round(old * (1 - COST_WEIGHT) + value * COST_WEIGHT));
+    }
+
+    /**
+     * Computes the cheapest path between two screens.
+     *
+     * @param from recognized current screen
+     * @param to   target screen
+     * @return transitions to take in order; empty when already there or no path exists
+     */
+    public static List<Transition> plan(Screen from, Screen to) {
+        Map<Screen, Long> distance = new EnumMap<>(Screen.class);
+        Map<Screen, Transition> via = new HashMap<>();
+        Map<Screen, Screen> previous = new EnumMap<>(Screen.class);
+        PriorityQueue<Screen> queue = new PriorityQueue<>(
+                (a, b) -> Long.compare(distance.get(a), distance.get(b)));
+        distance.put(from, 0L);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Screen screen = queue.poll();
+            if (screen == to) {
+                break;
+            }
+            for (Transition transition : TRANSITIONS) {
+                if (!transition.appliesFrom(screen) || transition.to() == screen) {
+                    continue;
+                }
+                long candidate = distance.get(screen) + cost(transition);
+                if (candidate < distance.getOrDefault(transition.to(), Long.MAX_VALUE)) {
+                    queue.remove(transition.to());
+                    distance.put(transition.to(), candidate);
+                    via.put(transition.to(), transition);
+                    previous.put(transition.to(), screen);
+                    queue.add(transition.to());
+                }
+            }
+        }
+        List<Transition> path = new ArrayList<>();
+        for (Screen screen = to; screen != from && via.containsKey(screen); screen = previous.get(screen)) {
+            path.add(0, via.get(screen));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,158 @@
+package com.stockbit.automation.pages;
+
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.drivers.SystemDialogWatcher;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens screens directly instead of walking the menu, for scenarios about the screen itself.
+ * <p>
+ * Each screen has a launch target: a deep link path ({@code link:drawing}) or an activity
+ * started with {@code mobile: startActivity} ({@code activity:<package/activity>}). The
+ * built-in table holds the app's deep links and can be overridden per screen with
+ * {@code screen.launch.<SCREEN>}. Arrival is verified with the screen's signature; when the
+ * launch does not land, the screen is reached through {@link MenuPage} as before. Each
+ * launch is recorded on its {@link ScreenGraph} edge, and a target that failed once is not
+ * tried again for the rest of the run.
+ */
+public class ScreenLauncher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenLauncher.class);
+
+    private static final String LINK = "link:";
+    private static final String ACTIVITY = "activity:";
+
+    private static final Map<Screen, String> DEFAULT_LAUNCHES = new EnumMap<>(Map.of(
+            Screen.CATALOG, LINK + "store-overview",
+            Screen.CART, LINK + "cart",
+            Screen.LOGIN, LINK + "login",
+            Screen.WEBVIEW, LINK + "webview",
+            Screen.GEO_LOCATION, LINK + "geo-locations",
+            Screen.DRAWING, LINK + "drawing",
+            Screen.ABOUT, LINK + "about",
+            Screen.QR_SCANNER, LINK + "qr-code-scanner"
+    ));
+
+    private static final Set<String> FAILED_TARGETS = ConcurrentHashMap.newKeySet();
+
+    private final AndroidDriver driver;
+
+    public ScreenLauncher(AndroidDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Gets the launch target of a screen.
+     *
+     * @param screen screen to open
+     * @return {@code link:} or {@code activity:} target, or empty if the screen has none
+     */
+    public static Optional<String> launchTarget(Screen screen) {
+        String override = AppiumConfig.getScreenLaunch(screen.name());
+        if (override != null && !override.isBlank()) {
+            return Optional.of(override.trim());
+        }
+        return Optional.ofNullable(DEFAULT_LAUNCHES.get(screen));
+    }
+
+    /**
+     * Resolves a screen by the name of the menu item that leads to it.
+     *
+     * @param menuItem menu item text, e.g. Drawing
+     * @return screen, or empty when the screen is not known
+     */
+    public static Optional<Screen> screenForMenuItem(String menuItem) {
+        if ("QR Code Scanner".equals(menuItem)) {
+            return Optional.of(Screen.QR_SCANNER);
+        }
+        return ScreenGraph.screenForMenuItem(menuItem);
+    }
+
+    /**
+     * Opens a screen's launch target without verifying where it landed.
+     *
+     * @param screen screen to open
+     * @throws IllegalArgumentException if the screen has no launch target
+     */
+    public void start(Screen screen) {
+        String target = launchTarget(screen)
+                .orElseThrow(() -> new IllegalArgumentException("No direct launch for " + screen));
+        if (target.startsWith(ACTIVITY)) {
+            String intent = target.substring(ACTIVITY.length());
+            driver.executeScript("mobile: startActivity", Map.of("intent", intent));
+            logger.info("Started activity: {}", intent);
+        } else {
+            AppStateSeeder.openDeepLink(driver, target.substring(target.startsWith(LINK) ? LINK.length() : 0));
+        }
+    }
+
+    /**
+     * Opens a screen directly and verifies it is shown, falling back to the menu.
+     *
+     * @param screen screen to open
+     */
+    public void launch(Screen screen) {
+        Optional<ScreenGraph.Transition> launch = ScreenGraph.launchTransition(screen);
+        if (launch.isPresent() && !FAILED_TARGETS.contains(launch.get().label())) {
+            if (tryLaunch(launch.get())) {
+                logger.info("Launched {} directly", screen);
+                return;
+            }
+            FAILED_TARGETS.add(launch.get().label());
+            logger.warn("{} did not open {}, using the menu for it for the rest of the run",
+                    launch.get().label(), screen);
+        }
+        logger.info("Falling back to menu navigation for {}", screen);
+        MenuPage menuPage = new MenuPage(driver);
+        if (screen == Screen.QR_SCANNER) {
+            menuPage.navigateToQRCodeScanner();
+        } else {
+            menuPage.navigateTo(screen);
+        }
+    }
+
+    /**
+     * Takes a launch edge and records its outcome in the graph.
+     */
+    private boolean tryLaunch(ScreenGraph.Transition launch) {
+        long start = System.currentTimeMillis();
+        boolean landed = false;
+        try {
+            launch.action().accept(driver);
+            landed = awaitLaunch(launch.to());
+        } catch (Exception e) {
+            logger.warn("Direct launch of {} failed: {}", launch.to(), e.getMessage());
+        }
+        ScreenGraph.record(launch, System.currentTimeMillis() - start, landed);
+        return landed;
+    }
+
+    private boolean awaitLaunch(Screen screen) {
+        if (awaitScreen(screen)) {
+            return true;
+        }
+        // A permission prompt (the QR scanner asks for the camera) hides the screen behind it
+        return SystemDialogWatcher.dismissIfPresent(driver) != null && awaitScreen(screen);
+    }
+
+    private boolean awaitScreen(Screen screen) {
+        Duration timeout = Duration.ofSeconds(AppiumConfig.getScreenLaunchWaitSeconds());
+        try {
+            return new WebDriverWait(driver, timeout)
+                    .until(d -> Screen.recognize(HierarchySnapshot.capture(driver)) == screen);
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
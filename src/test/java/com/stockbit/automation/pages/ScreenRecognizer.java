@@ -0,0 +1,105 @@
+package com.stockbit.automation.pages;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recognizes the current screen from one {@link HierarchySnapshot}.
+ * <p>
+ * Every feature of every {@link ScreenSignature} is indexed once, so recognition walks the
+ * snapshot's features a single time and marks the requirements they meet, instead of probing
+ * each page's locators with implicit waits. A screen is a candidate when at least half of its
+ * requirements are met and at least two of them, or all of them for a one-requirement
+ * signature, so a single shared feature such as a product title never recognizes a two-part
+ * signature on its own. The candidate with the highest share of met requirements wins; ties
+ * go to the more specific signature, then to declaration order, which puts overlays such as
+ * the open menu ahead of the screen behind them.
+ */
+public final class ScreenRecognizer {
+
+    /**
+     * Share of requirements that must be met for a screen to be recognized at all.
+     */
+    public static final double MIN_CONFIDENCE = 0.5;
+
+    /**
+     * Number of requirements that must be met for a screen to be recognized, capped at the
+     * size of its signature.
+     */
+    public static final int MIN_MET_REQUIREMENTS = 2;
+
+    /**
+     * Outcome of a recognition.
+     *
+     * @param screen     recognized screen, or {@link Screen#UNKNOWN}
+     * @param confidence share of the screen's requirements met by the snapshot
+     */
+    public record Recognition(Screen screen, double confidence) {
+    }
+
+    private record Requirement(Screen screen, int index) {
+    }
+
+    private static final Map<String, List<Requirement>> INDEX = buildIndex();
+
+    private ScreenRecognizer() {
+    }
+
+    private static Map<String, List<Requirement>> buildIndex() {
+        Map<String, List<Requirement>> index = new HashMap<>();
+        for (Screen screen : Screen.values()) {
+            List<Set<String>> requirements = screen.getSignature().getRequirements();
+            for (int i = 0; i < requirements.size(); i++) {
+                for (String feature : requirements.get(i)) {
+                    index.computeIfAbsent(feature, key -> new ArrayList<>()).add(new Requirement(screen, i));
+                }
+            }
+        }
+        index.replaceAll((feature, requirements) -> Collections.unmodifiableList(requirements));
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Recognizes the screen shown in a snapshot.
+     *
+     * @param snapshot current hierarchy
+     * @return best matching screen with its confidence
+     */
+    public static Recognition recognize(HierarchySnapshot snapshot) {
+        Map<Screen, BitSet> met = new EnumMap<>(Screen.class);
+        for (String feature : snapshot.getFeatures()) {
+            for (Requirement requirement : INDEX.getOrDefault(feature, List.of())) {
+                met.computeIfAbsent(requirement.screen(), screen -> new BitSet()).set(requirement.index());
+            }
+        }
+        Screen best = Screen.UNKNOWN;
+        double bestConfidence = 0;
+        int bestSize = 0;
+        for (Screen screen : Screen.values()) {
+            BitSet bits = met.get(screen);
+            if (bits == null) {
+                continue;
+            }
+            int size = screen.getSignature().getRequirements().size();
+            double confidence = (double) bits.cardinality() / size;
+            if (bits.cardinality() < Math.min(size, MIN_MET_REQUIREMENTS)) {
+                continue;
+            }
+            if (confidence > bestConfidence || (confidence == bestConfidence && size > bestSize)) {
+                best = screen;
+                bestConfidence = confidence;
+                bestSize = size;
+            }
+        }
+        if (bestConfidence < MIN_CONFIDENCE) {
+            return new Recognition(Screen.UNKNOWN, bestConfidence);
+        }
+        return new Recognition(best, bestConfidence);
+    }
+}
@@ -0,0 +1,84 @@
+package com.stockbit.automation.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Elements a screen is recognized by, as a list of requirements. A requirement is met when any
+ * one of its features is in the hierarchy; a feature is a resource id (without package), a
+ * content description or an exact text, written with {@link #id}, {@link #description} and
+ * {@link #text}.
+ */
+public final class ScreenSignature {
+
+    private final List<Set<String>> requirements;
+
+    private ScreenSignature(List<Set<String>> requirements) {
+        this.requirements = Collections.unmodifiableList(requirements);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Feature for a resource id, e.g. {@code id("cartBt")}.
+     */
+    public static String id(String resourceId) {
+        int separator = resourceId.indexOf(":id/");
+        return "id:" + (separator < 0 ? resourceId : resourceId.substring(separator + 4));
+    }
+
+    /**
+     * Feature for a content description.
+     */
+    public static String description(String contentDescription) {
+        return "desc:" + contentDescription;
+    }
+
+    /**
+     * Feature for an exact text.
+     */
+    public static String text(String text) {
+        return "text:" + text;
+    }
+
+    /**
+     * Gets the requirements, each a set of alternative features.
+     */
+    public List<Set<String>> getRequirements() {
+        return requirements;
+    }
+
+    public static class Builder {
+
+        private final List<Set<String>> requirements = new ArrayList<>();
+
+        public Builder id(String resourceId) {
+            return anyOf(ScreenSignature.id(resourceId));
+        }
+
+        public Builder description(String contentDescription) {
+            return anyOf(ScreenSignature.description(contentDescription));
+        }
+
+        public Builder text(String text) {
+            return anyOf(ScreenSignature.text(text));
+        }
+
+        /**
+         * Adds a requirement met by any of the given features.
+         */
+        public Builder anyOf(String... features) {
+            requirements.add(Collections.unmodifiableSet(new LinkedHashSet<>(List.of(features))));
+            return this;
+        }
+
+        public ScreenSignature build() {
+            return new ScreenSignature(new ArrayList<>(requirements));
+        }
+    }
+}
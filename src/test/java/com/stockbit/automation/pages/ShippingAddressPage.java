@@ -1,5 +1,6 @@
 package com.stockbit.automation.pages;
 
+import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.pagefactory.AndroidFindBy;
 import org.openqa.selenium.WebElement;
@@ -135,8 +136,7 @@ public class ShippingAddressPage extends BasePage {
      * Clicks To Payment button.
      */
     public void clickToPayment() {
-        scrollDown();
-        click(toPaymentButton);
+        click(scrollToElement(AppiumBy.id("com.saucelabs.mydemoapp.android:id/paymentBtn")));
         logger.info("Clicked To Payment button");
     }
 
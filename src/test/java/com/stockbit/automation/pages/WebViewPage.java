@@ -30,12 +30,7 @@ public class WebViewPage extends BasePage {
      * Checks if WebView page is displayed.
      */
     public boolean isWebViewPageDisplayed() {
-        waitFor(2);
-        try {
-            return isDisplayed(urlInput) || isDisplayed(webViewTitle);
-        } catch (Exception e) {
-            return false;
-        }
+        return isScreenDisplayed(Screen.WEBVIEW);
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.stockbit.automation.reporting;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Gathers failure evidence (screenshot, page source, foreground activity, recent logcat and
+ * device info) with all requests in flight at once, bounded by a single total deadline.
+ * <p>
+ * Appium serialises commands per session on the server, but issuing them together still
+ * overlaps the HTTP round trips, so triage data costs roughly one latency window. Anything
+ * not back by the deadline is recorded as missing in the bundle manifest instead of delaying
+ * teardown; its thread is interrupted and left behind rather than joined, so a blocked HTTP
+ * or adb call cannot stall the scenario.
+ */
+public class ForensicsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForensicsCollector.class);
+
+    static final String SCREENSHOT = "screenshot.png";
+    static final String PAGE_SOURCE = "page-source.xml";
+    static final String ACTIVITY = "activity.txt";
+    static final String LOGCAT = "logcat.txt";
+    static final String DEVICE_INFO = "device-info.txt";
+    static final String MANIFEST = "manifest.txt";
+
+    private final Duration deadline;
+    private final int logcatLines;
+
+    /**
+     * Collected evidence. The screenshot is kept as base64 so it can also go through the
+     * regular {@link ScreenshotPipeline} without being requested twice.
+     *
+     * @param entries          bundle entries keyed by file name
+     * @param screenshotBase64 raw screenshot, or null if it was not collected
+     */
+    public record Bundle(Map<String, byte[]> entries, String screenshotBase64) {
+    }
+
+    /**
+     * @param deadline    total time allowed for all requests
+     * @param logcatLines number of most recent logcat lines to keep
+     */
+    public ForensicsCollector(Duration deadline, int logcatLines) {
+        this.deadline = deadline;
+        this.logcatLines = logcatLines;
+    }
+
+    /**
+     * Issues all evidence requests concurrently and waits at most the configured deadline.
+     *
+     * @param driver current driver
+     * @return collected bundle
+     */
+    public Bundle collect(AndroidDriver driver) {
+        return collect(driver, null);
+    }
+
+    /**
+     * Issues all evidence requests concurrently and waits at most the configured deadline.
+     *
+     * @param driver      current driver
+     * @param logcatSlice already captured app log for the scenario, or null to pull the device log
+     * @return collected bundle
+     */
+    public Bundle collect(AndroidDriver driver, Supplier<String> logcatSlice) {
+        Map<String, Callable<Object>> requests = new LinkedHashMap<>();
+        requests.put(SCREENSHOT, () -> driver.getScreenshotAs(OutputType.BASE64));
+        requests.put(PAGE_SOURCE, driver::getPageSource);
+        requests.put(ACTIVITY, () -> "package=" + driver.getCurrentPackage() + "\nactivity=" + driver.currentActivity() + "\n");
+        requests.put(LOGCAT, logcatSlice != null ? logcatSlice::get : () -> recentLogcat(driver));
+        requests.put(DEVICE_INFO, () -> String.valueOf(driver.executeScript("mobile: deviceInfo")));
+
+        long started = System.nanoTime();
+        List<String> names = new ArrayList<>(requests.keySet());
+        List<Future<Object>> results;
+        // Not try-with-resources: close() would wait for requests that ignore the interrupt
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            results = executor.invokeAll(new ArrayList<>(requests.values()), deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Bundle(Map.of(), null);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        StringBuilder manifest = new StringBuilder();
+        String screenshot = null;
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            try {
+                Object value = results.get(i).get();
+                if (SCREENSHOT.equals(name)) {
+                    screenshot = (String) value;
+                } else {
+                    entries.put(name, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                }
+                manifest.append(name).append(": ok\n");
+            } catch (CancellationException e) {
+                manifest.append(name).append(": timed out after ").append(deadline.toMillis()).append(" ms\n");
+            } catch (ExecutionException e) {
+                manifest.append(name).append(": failed - ").append(e.getCause()).append('\n');
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                manifest.append(name).append(": interrupted\n");
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        manifest.append("collected in ").append(elapsedMillis).append(" ms\n");
+        entries.put(MANIFEST, manifest.toString().getBytes(StandardCharsets.UTF_8));
+        logger.info("Collected failure forensics in {} ms", elapsedMillis);
+        return new Bundle(entries, screenshot);
+    }
+
+    /**
+     * Zips the bundle on the {@link ReportingExecutor} and attaches it to Allure.
+     *
+     * @param bundle collected evidence
+     * @param name   attachment name
+     */
+    public void attachAsync(Bundle bundle, String name) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, "application/zip", ".zip");
+        ReportingExecutor.get().execute(() -> {
+            try {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(zip(bundle)));
+            } catch (IOException e) {
+                logger.error("Failed to write forensics bundle: {}", e.getMessage());
+            }
+        });
+    }
+
+    static byte[] zip(Bundle bundle) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (bundle.screenshotBase64() != null) {
+                writeEntry(zip, SCREENSHOT, Base64.getMimeDecoder().decode(bundle.screenshotBase64()));
+            }
+            for (Map.Entry<String, byte[]> entry : bundle.entries().entrySet()) {
+                writeEntry(zip, entry.getKey(), entry.getValue());
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private String recentLogcat(AndroidDriver driver) {
+        List<LogEntry> entries = driver.manage().logs().get("logcat").getAll();
+        int from = Math.max(0, entries.size() - logcatLines);
+        StringBuilder text = new StringBuilder();
+        for (LogEntry entry : entries.subList(from, entries.size())) {
+            text.append(entry.getMessage()).append('\n');
+        }
+        return text.toString();
+    }
+}
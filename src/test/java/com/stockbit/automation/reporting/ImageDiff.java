@@ -0,0 +1,190 @@
+package com.stockbit.automation.reporting;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Future;
+
+/**
+ * Compares screenshots by what they show rather than by their encoded bytes.
+ * <p>
+ * An image is decoded once into a small luminance buffer ({@link Luma}), box-averaged down to
+ * at most {@link #SAMPLE_SIDE} pixels per side, so only a few kilobytes are kept per image and
+ * PNG encoder differences do not matter. Two buffers are compared by the share of pixels whose
+ * luminance differs by more than a threshold, and by the Hamming distance of their 64-bit
+ * difference hashes. Decoding can run on the {@link ReportingExecutor}.
+ */
+public final class ImageDiff {
+
+    /** Longest side of a decoded luminance buffer. */
+    public static final int SAMPLE_SIDE = 128;
+
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+
+    /**
+     * Downsampled 8-bit luminance of an image, row by row.
+     *
+     * @param width  width in samples
+     * @param height height in samples
+     * @param pixels luminance values, {@code width * height} of them
+     */
+    public record Luma(int width, int height, byte[] pixels) {
+    }
+
+    /**
+     * How different two images may be and still count as the same.
+     *
+     * @param pixelThreshold     luminance difference (0-255) above which a pixel counts as changed
+     * @param maxDifferenceRatio largest share of changed pixels
+     * @param maxHashDistance    largest number of differing hash bits (0-64)
+     */
+    public record Tolerance(int pixelThreshold, double maxDifferenceRatio, int maxHashDistance) {
+    }
+
+    /**
+     * Outcome of a comparison.
+     *
+     * @param differenceRatio share of changed pixels, 0 to 1
+     * @param hashDistance    number of differing hash bits, 0 to 64
+     */
+    public record Result(double differenceRatio, int hashDistance) {
+
+        /**
+         * Whether the images count as the same under the tolerance.
+         */
+        public boolean isSimilar(Tolerance tolerance) {
+            return differenceRatio <= tolerance.maxDifferenceRatio() && hashDistance <= tolerance.maxHashDistance();
+        }
+    }
+
+    private ImageDiff() {
+        // Utility class
+    }
+
+    /**
+     * Decodes a PNG or JPEG into a luminance buffer on the reporting executor.
+     *
+     * @param encoded encoded image
+     * @return future luminance buffer
+     */
+    public static Future<Luma> decodeAsync(byte[] encoded) {
+        return ReportingExecutor.get().submit(() -> decode(encoded));
+    }
+
+    /**
+     * Decodes a PNG or JPEG into a luminance buffer of at most {@link #SAMPLE_SIDE} per side.
+     *
+     * @param encoded encoded image
+     * @return luminance buffer
+     * @throws UncheckedIOException if the bytes are not a readable image
+     */
+    public static Luma decode(byte[] encoded) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(encoded));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (image == null) {
+            throw new UncheckedIOException(new IOException("Unsupported image format"));
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int scale = Math.max(1, (Math.max(width, height) + SAMPLE_SIDE - 1) / SAMPLE_SIDE);
+        int sampleWidth = (width + scale - 1) / scale;
+        int sampleHeight = (height + scale - 1) / scale;
+
+        int[] columnCell = new int[width];
+        for (int x = 0; x < width; x++) {
+            columnCell[x] = x / scale;
+        }
+        int[] sums = new int[sampleWidth * sampleHeight];
+        int[] counts = new int[sampleWidth * sampleHeight];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = (y / scale) * sampleWidth;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                // ITU-R BT.601 weights in 8-bit fixed point
+                int luma = (77 * ((rgb >> 16) & 0xFF) + 150 * ((rgb >> 8) & 0xFF) + 29 * (rgb & 0xFF)) >> 8;
+                int cell = cellRow + columnCell[x];
+                sums[cell] += luma;
+                counts[cell]++;
+            }
+        }
+        byte[] pixels = new byte[sums.length];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) (sums[i] / counts[i]);
+        }
+        return new Luma(sampleWidth, sampleHeight, pixels);
+    }
+
+    /**
+     * Compares two luminance buffers of the same size.
+     *
+     * @param a              first image
+     * @param b              second image
+     * @param pixelThreshold luminance difference above which a pixel counts as changed
+     * @return difference ratio and hash distance
+     * @throws IllegalArgumentException if the buffers differ in size
+     */
+    public static Result compare(Luma a, Luma b, int pixelThreshold) {
+        return new Result(differenceRatio(a, b, pixelThreshold), Long.bitCount(hash(a) ^ hash(b)));
+    }
+
+    /**
+     * Share of pixels whose luminance differs by more than the threshold.
+     *
+     * @throws IllegalArgumentException if the buffers differ in size
+     */
+    public static double differenceRatio(Luma a, Luma b, int pixelThreshold) {
+        if (a.width() != b.width() || a.height() != b.height()) {
+            throw new IllegalArgumentException("Images differ in size: " + a.width() + "x" + a.height()
+                    + " and " + b.width() + "x" + b.height());
+        }
+        byte[] pa = a.pixels();
+        byte[] pb = b.pixels();
+        int changed = 0;
+        for (int i = 0; i < pa.length; i++) {
+            int difference = (pa[i] & 0xFF) - (pb[i] & 0xFF);
+            changed += (difference > pixelThreshold || difference < -pixelThreshold) ? 1 : 0;
+        }
+        return pa.length == 0 ? 0 : (double) changed / pa.length;
+    }
+
+    /**
+     * 64-bit difference hash: the image is averaged down to 9x8 and each bit tells whether a
+     * sample is brighter than its right neighbour. Similar images have hashes a few bits apart.
+     */
+    public static long hash(Luma image) {
+        int[] grid = new int[HASH_WIDTH * HASH_HEIGHT];
+        int[] counts = new int[grid.length];
+        byte[] pixels = image.pixels();
+        int width = image.width();
+        int height = image.height();
+        for (int y = 0; y < height; y++) {
+            int gridRow = (y * HASH_HEIGHT / height) * HASH_WIDTH;
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int cell = gridRow + x * HASH_WIDTH / width;
+                grid[cell] += pixels[offset + x] & 0xFF;
+                counts[cell]++;
+            }
+        }
+        long hash = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH - 1; x++) {
+                int left = y * HASH_WIDTH + x;
+                // Cross-multiplied averages, so empty cells of tiny images compare as equal
+                long leftValue = (long) grid[left] * Math.max(1, counts[left + 1]);
+                long rightValue = (long) grid[left + 1] * Math.max(1, counts[left]);
+                hash = (hash << 1) | (leftValue > rightValue ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+}
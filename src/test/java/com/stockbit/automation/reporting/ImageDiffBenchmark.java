@@ -0,0 +1,93 @@
+package com.stockbit.automation.reporting;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmarks for {@link ImageDiff} on a canvas-sized screenshot: an empty white canvas
+ * and the same canvas with a few strokes, as the drawing scenarios compare them.
+ * <p>
+ * Not part of {@code mvn test}. Run after {@code mvn test-compile} with
+ * {@code java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main ImageDiffBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageDiffBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1600;
+    private static final int PIXEL_THRESHOLD = 24;
+
+    private byte[] drawnPng;
+    private ImageDiff.Luma empty;
+    private ImageDiff.Luma drawn;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] emptyPng = encode(canvas(false));
+        drawnPng = encode(canvas(true));
+        empty = ImageDiff.decode(emptyPng);
+        drawn = ImageDiff.decode(drawnPng);
+    }
+
+    @Benchmark
+    public ImageDiff.Luma decode() {
+        return ImageDiff.decode(drawnPng);
+    }
+
+    @Benchmark
+    public double differenceRatio() {
+        return ImageDiff.differenceRatio(empty, drawn, PIXEL_THRESHOLD);
+    }
+
+    @Benchmark
+    public long hash() {
+        return ImageDiff.hash(drawn);
+    }
+
+    private static BufferedImage canvas(boolean strokes) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            if (strokes) {
+                g.setColor(Color.BLACK);
+                g.setStroke(new BasicStroke(12));
+                g.drawLine(200, 400, 880, 1200);
+                g.drawLine(880, 400, 200, 1200);
+                g.drawOval(340, 600, 400, 400);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,221 @@
+package com.stockbit.automation.reporting;
+
+import com.stockbit.automation.config.AppiumConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams {@code adb logcat} for one device on a virtual thread and keeps the app's lines
+ * in a bounded ring buffer.
+ * <p>
+ * Lines are kept when they come from one of the app's processes or mention the app package
+ * (process start/death, crashes). The pid set is replaced by {@link #refreshPids()} when a
+ * session starts, and follows the ActivityManager's process start and death lines in between,
+ * so a pid reused by another app after the app died no longer matches. Every line gets a
+ * sequence number and the host time on arrival, and hooks insert scenario/step markers into
+ * the same stream, so a failed scenario can slice out exactly its own lines without pulling
+ * the device log again. One collector runs per device for the whole run and survives driver
+ * restarts.
+ */
+public class LogcatCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogcatCollector.class);
+    private static final Map<String, LogcatCollector> COLLECTORS = new ConcurrentHashMap<>();
+    private static final DateTimeFormatter RECEIVED_AT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final String serial;
+    private final String appPackage;
+    private final int capacity;
+    private final ArrayDeque<Line> buffer;
+    private final Pattern processStart;
+    private final Pattern processDeath;
+    private volatile Set<String> appPids = Set.of();
+    private long nextSequence;
+    private volatile Process process;
+
+    private record Line(long sequence, long receivedAt, String text) {
+    }
+
+    private LogcatCollector(String serial, String appPackage, int capacity) {
+        this.serial = serial;
+        this.appPackage = appPackage;
+        this.capacity = capacity;
+        this.buffer = new ArrayDeque<>(capacity);
+        // e.g. "Start proc 1234:com.example/u0a123" and "Process com.example (pid 1234) has died"
+        this.processStart = Pattern.compile("Start proc (\\d+):" + Pattern.quote(appPackage) + "[/\\s]");
+        this.processDeath = Pattern.compile("Process " + Pattern.quote(appPackage) + " \\(pid (\\d+)\\) has died");
+    }
+
+    /**
+     * Gets the running collector for a device, starting it on first use.
+     *
+     * @param serial adb serial of the device
+     * @return collector for the device
+     */
+    public static LogcatCollector forDevice(String serial) {
+        return COLLECTORS.computeIfAbsent(serial, s -> {
+            LogcatCollector collector = new LogcatCollector(s, AppiumConfig.getAppPackage(), AppiumConfig.getLogcatBufferLines());
+            collector.start();
+            return collector;
+        });
+    }
+
+    private void start() {
+        refreshPids();
+        ProcessBuilder builder = new ProcessBuilder(AppiumConfig.getAdbPath(), "-s", serial, "logcat", "-v", "threadtime", "-T", "1");
+        builder.redirectErrorStream(true);
+        try {
+            process = builder.start();
+        } catch (IOException e) {
+            logger.warn("Could not start logcat for {}: {}", serial, e.getMessage());
+            return;
+        }
+        Thread.ofVirtual().name("logcat-" + serial).start(this::readLoop);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        logger.info("Streaming logcat for {} filtered to {}", serial, appPackage);
+    }
+
+    private void readLoop() {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (isAppLine(line)) {
+                    trackProcess(line);
+                    append(line);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Logcat stream for {} closed: {}", serial, e.getMessage());
+        }
+    }
+
+    /**
+     * threadtime format: {@code MM-DD HH:MM:SS.mmm  PID  TID LEVEL TAG: message}.
+     */
+    private boolean isAppLine(String line) {
+        if (line.contains(appPackage)) {
+            return true;
+        }
+        String[] fields = line.trim().split("\\s+", 4);
+        return fields.length >= 3 && appPids.contains(fields[2]);
+    }
+
+    /**
+     * Follows the app's process starts and deaths announced by the ActivityManager.
+     */
+    private void trackProcess(String line) {
+        Matcher started = processStart.matcher(line);
+        if (started.find()) {
+            Set<String> pids = new HashSet<>(appPids);
+            pids.add(started.group(1));
+            appPids = Set.copyOf(pids);
+            return;
+        }
+        Matcher died = processDeath.matcher(line);
+        if (died.find()) {
+            Set<String> pids = new HashSet<>(appPids);
+            pids.remove(died.group(1));
+            appPids = Set.copyOf(pids);
+        }
+    }
+
+    /**
+     * Re-reads the app's process ids, replacing the known set; call when a session starts,
+     * since the app gets a new pid after every restart.
+     */
+    public void refreshPids() {
+        try {
+            Process pidof = new ProcessBuilder(AppiumConfig.getAdbPath(), "-s", serial, "shell", "pidof", appPackage)
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(pidof.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (pidof.waitFor(5, TimeUnit.SECONDS)) {
+                Set<String> pids = new HashSet<>();
+                for (String pid : output.split("\\s+")) {
+                    if (!pid.isEmpty() && pid.chars().allMatch(Character::isDigit)) {
+                        pids.add(pid);
+                    }
+                }
+                appPids = Set.copyOf(pids);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not resolve pid of {}: {}", appPackage, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized long append(String text) {
+        if (buffer.size() == capacity) {
+            buffer.removeFirst();
+        }
+        long sequence = nextSequence++;
+        buffer.addLast(new Line(sequence, System.currentTimeMillis(), text));
+        return sequence;
+    }
+
+    /**
+     * Inserts a marker line (e.g. scenario or step boundary) into the stream.
+     *
+     * @param label marker text
+     * @return sequence number of the marker, usable as a slice start
+     */
+    public long mark(String label) {
+        return append("----- " + label + " -----");
+    }
+
+    /**
+     * Returns every buffered line from the given sequence onwards, each prefixed with the
+     * host time it was received. Lines already evicted from the ring buffer are reported as a gap.
+     *
+     * @param fromSequence sequence returned by {@link #mark(String)}
+     * @return log text
+     */
+    public synchronized String slice(long fromSequence) {
+        StringBuilder text = new StringBuilder();
+        if (!buffer.isEmpty() && buffer.peekFirst().sequence() > fromSequence) {
+            text.append("(").append(buffer.peekFirst().sequence() - fromSequence)
+                    .append(" earlier lines evicted from the buffer)\n");
+        }
+        for (Line line : buffer) {
+            if (line.sequence() >= fromSequence) {
+                text.append('[').append(RECEIVED_AT.format(Instant.ofEpochMilli(line.receivedAt()))).append("] ")
+                        .append(line.text()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Whether the logcat stream is running.
+     */
+    public boolean isRunning() {
+        Process current = process;
+        return current != null && current.isAlive();
+    }
+
+    private void stop() {
+        Process current = process;
+        if (current != null) {
+            current.destroy();
+        }
+    }
+}
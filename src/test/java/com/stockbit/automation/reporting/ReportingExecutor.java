@@ -0,0 +1,53 @@
+package com.stockbit.automation.reporting;
+
+import com.stockbit.automation.config.AppiumConfig;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded background pool shared by all report attachment work.
+ * When the queue is full the submitting test thread runs the task itself,
+ * so evidence is never dropped and memory stays bounded.
+ */
+public final class ReportingExecutor {
+
+    private static final int QUEUE_CAPACITY = 32;
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private ReportingExecutor() {
+        // Utility class
+    }
+
+    /**
+     * Gets the shared reporting executor.
+     *
+     * @return bounded executor service
+     */
+    public static ExecutorService get() {
+        return EXECUTOR;
+    }
+
+    private static ExecutorService createExecutor() {
+        int threads = Math.max(1, AppiumConfig.getReportingThreads());
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "report-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                factory,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
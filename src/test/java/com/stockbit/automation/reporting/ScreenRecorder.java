@@ -0,0 +1,224 @@
+package com.stockbit.automation.reporting;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.AndroidStartScreenRecordingOptions;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records the device screen for the whole scenario and keeps the video only on failure.
+ * <p>
+ * The recording is capped by bit rate and resolution, and split into segments so that its
+ * size stays within {@code recording.max.mb} however long the scenario runs. Each segment
+ * may hold half the size limit (and at most {@code recording.max.seconds}); once the running
+ * segment is half way to its device-side time limit, the next step end starts a new one. The
+ * finished segment is pulled in the background and kept in memory, so a failure gets the
+ * segment before it as well as the running one. A scenario shorter than a rollover never
+ * pulls anything when it passes. On failure the stop/pull request runs on the
+ * {@link ReportingExecutor} alongside the other failure evidence, and decoding plus
+ * attachment happen there as well.
+ */
+public class ScreenRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenRecorder.class);
+    private static final int MAX_DEVICE_SECONDS = 1800;
+    /** Share of a segment's time limit after which the next step end starts a new segment. */
+    private static final double ROLLOVER_SHARE = 0.5;
+
+    private boolean recording;
+    private int segmentSeconds;
+    private long segmentStartNanos;
+    private Future<String> previousSegment;
+    private Future<?> transfer;
+    private Runnable writeEmpty;
+
+    /**
+     * Starts a capped screen recording on the device.
+     *
+     * @param driver current driver
+     */
+    public void start(AndroidDriver driver) {
+        try {
+            int bitRate = AppiumConfig.getRecordingBitRate();
+            int seconds = Math.min(MAX_DEVICE_SECONDS, Math.max(1, AppiumConfig.getRecordingMaxSeconds()));
+            // The encoder holds the bit rate, so the length bounds the size; two segments are kept
+            segmentSeconds = (int) Math.max(2, Math.min(seconds, maxBytes() * 8 / 2 / Math.max(1, bitRate)));
+            driver.startRecordingScreen(options());
+            segmentStartNanos = System.nanoTime();
+            previousSegment = null;
+            recording = true;
+            logger.info("Started screen recording (segments of {}s)", segmentSeconds);
+        } catch (Exception e) {
+            logger.warn("Could not start screen recording: {}", e.getMessage());
+        }
+    }
+
+    private AndroidStartScreenRecordingOptions options() {
+        return AndroidStartScreenRecordingOptions.startScreenRecordingOptions()
+                .withTimeLimit(Duration.ofSeconds(segmentSeconds))
+                .withBitRate(AppiumConfig.getRecordingBitRate())
+                .withVideoSize(AppiumConfig.getRecordingVideoSize())
+                .enableForcedRestart();
+    }
+
+    /**
+     * Starts a new segment in the background once the running one is half way to its time
+     * limit, keeping the finished segment in memory. Call after each step.
+     *
+     * @param driver current driver
+     */
+    public void rollOverIfDue(AndroidDriver driver) {
+        long dueNanos = (long) (segmentSeconds * ROLLOVER_SHARE * 1_000_000_000L);
+        if (!recording || System.nanoTime() - segmentStartNanos < dueNanos) {
+            return;
+        }
+        segmentStartNanos = System.nanoTime();
+        Future<String> earlier = previousSegment;
+        previousSegment = ReportingExecutor.get().submit(() -> {
+            if (earlier != null) {
+                // Segments are swapped in order; the older one is dropped
+                earlier.get();
+            }
+            String finished = driver.stopRecordingScreen();
+            driver.startRecordingScreen(options());
+            logger.debug("Started a new screen recording segment, kept the previous one ({} KB)",
+                    finished.length() * 3L / 4 / 1024);
+            return finished;
+        });
+    }
+
+    /**
+     * Stops the recording and attaches it in the background, preceded by the previous segment
+     * if there is one. Call {@link #awaitTransfer(Duration)} before the session is closed.
+     *
+     * @param driver current driver
+     * @param name   attachment name
+     */
+    public void keepAsync(AndroidDriver driver, String name) {
+        if (!recording) {
+            return;
+        }
+        recording = false;
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Future<String> earlier = previousSegment;
+        previousSegment = null;
+        String earlierSource = earlier == null ? null
+                : lifecycle.prepareAttachment(name + " (previous segment)", "video/mp4", ".mp4");
+        String source = lifecycle.prepareAttachment(name, "video/mp4", ".mp4");
+        AtomicBoolean written = new AtomicBoolean();
+        writeEmpty = () -> {
+            if (written.compareAndSet(false, true)) {
+                if (earlierSource != null) {
+                    lifecycle.writeAttachment(earlierSource, new ByteArrayInputStream(new byte[0]));
+                }
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(new byte[0]));
+            }
+        };
+
+        transfer = ReportingExecutor.get().submit(() -> {
+            byte[] before = new byte[0];
+            byte[] video = new byte[0];
+            try {
+                if (earlier != null) {
+                    before = decode(earlier.get());
+                }
+                video = decode(driver.stopRecordingScreen());
+            } catch (Exception e) {
+                logger.error("Failed to retrieve screen recording: {}", e.getMessage());
+            } finally {
+                // The reserved attachments are always written, empty when there is no video
+                if (written.compareAndSet(false, true)) {
+                    if (earlierSource != null) {
+                        lifecycle.writeAttachment(earlierSource, new ByteArrayInputStream(before));
+                    }
+                    lifecycle.writeAttachment(source, new ByteArrayInputStream(video));
+                    if (video.length > 0) {
+                        logger.info("Attached screen recording ({} KB, previous segment {} KB)",
+                                video.length / 1024, before.length / 1024);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Decodes one segment, or returns nothing if it is above its share of the size limit.
+     */
+    private static byte[] decode(String base64) {
+        long maxBytes = maxBytes() / 2;
+        // Base64 expands by 4/3, so the decoded size is known before decoding
+        long size = base64.length() * 3L / 4;
+        if (size > maxBytes) {
+            // Only possible when the encoder overshoots its bit rate
+            logger.warn("Screen recording segment is {} MB, above the {} MB limit; not attached",
+                    size / (1024 * 1024), maxBytes / (1024 * 1024));
+            return new byte[0];
+        }
+        return Base64.getMimeDecoder().decode(base64);
+    }
+
+    private static long maxBytes() {
+        return AppiumConfig.getRecordingMaxMegabytes() * 1024L * 1024L;
+    }
+
+    /**
+     * Waits for the stop/pull request, or for a running segment swap, to complete. The session
+     * must stay alive until then.
+     *
+     * @param timeout maximum time to wait
+     */
+    public void awaitTransfer(Duration timeout) {
+        if (transfer == null) {
+            awaitRollover(timeout);
+            return;
+        }
+        try {
+            transfer.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            transfer.cancel(true);
+            writeEmpty.run();
+            logger.warn("Screen recording transfer did not finish: {}", e.toString());
+        } finally {
+            transfer = null;
+            writeEmpty = null;
+        }
+    }
+
+    /**
+     * Lets a segment swap that is still running finish, so it does not use a closed session.
+     */
+    private void awaitRollover(Duration timeout) {
+        Future<String> pending = previousSegment;
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            pending.cancel(true);
+            logger.debug("Screen recording segment swap did not finish: {}", e.toString());
+        }
+    }
+
+    /**
+     * Drops the recording without pulling it from the device.
+     * Appium stops the device-side recorder and removes the file when the session ends.
+     */
+    public void discard() {
+        previousSegment = null;
+        if (recording) {
+            recording = false;
+            logger.debug("Scenario passed, screen recording discarded on device");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.stockbit.automation.reporting;
+
+import com.stockbit.automation.config.AppiumConfig;
+import io.appium.java_client.android.AndroidDriver;
+import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Captures screenshots on the test thread and hands decoding, resizing and
+ * report attachment to the shared {@link ReportingExecutor}.
+ * <p>
+ * The test thread only pays for the screenshot round trip. Allure attachments are
+ * reserved up front so they land on the right test case even though the bytes are
+ * written later; a reserved attachment is always written, with an empty body if the
+ * screenshot could not be processed in time. Cucumber attachments are added by
+ * {@link #attachCompleted(Scenario)} after each step and {@link #flush(Scenario, Duration)}.
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+
+    /** Screenshots kept in memory before the test thread waits for the oldest one. */
+    private static final int MAX_PENDING = 8;
+    private static final Duration PENDING_WAIT = Duration.ofSeconds(10);
+
+    private final List<PendingAttachment> pending = new ArrayList<>();
+
+    private record PendingAttachment(String name, String mimeType, AllureLifecycle lifecycle, String source,
+                                     AtomicBoolean written, Future<byte[]> image) {
+
+        /**
+         * Writes the Allure attachment once; later calls are ignored.
+         */
+        void write(byte[] bytes) {
+            if (written.compareAndSet(false, true)) {
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+            }
+        }
+    }
+
+    /**
+     * Captures a screenshot and queues it for background processing.
+     *
+     * @param driver current driver
+     * @param name   attachment name
+     */
+    public void capture(AndroidDriver driver, String name) {
+        String base64;
+        try {
+            base64 = driver.getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            logger.error("Failed to capture screenshot '{}': {}", name, e.getMessage());
+            return;
+        }
+        submit(name, base64);
+    }
+
+    /**
+     * Queues an already captured base64 PNG for background processing.
+     *
+     * @param name   attachment name
+     * @param base64 base64-encoded PNG returned by the driver
+     */
+    public void submit(String name, String base64) {
+        boolean jpeg = isJpeg();
+        String mimeType = jpeg ? "image/jpeg" : "image/png";
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, mimeType, jpeg ? ".jpg" : ".png");
+        AtomicBoolean written = new AtomicBoolean();
+
+        Future<byte[]> image = ReportingExecutor.get().submit(() -> {
+            byte[] bytes = new byte[0];
+            try {
+                bytes = process(Base64.getMimeDecoder().decode(base64), AppiumConfig.getScreenshotMaxWidth(), jpeg);
+                return bytes;
+            } finally {
+                // The reserved attachment is written even when processing fails
+                if (written.compareAndSet(false, true)) {
+                    lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+                }
+            }
+        });
+        synchronized (pending) {
+            pending.add(new PendingAttachment(name, mimeType, lifecycle, source, written, image));
+        }
+        logger.debug("Queued screenshot: {}", name);
+    }
+
+    /**
+     * Attaches screenshots that are already processed to the Cucumber report without waiting.
+     * If more than {@link #MAX_PENDING} are still outstanding, waits for the oldest ones, so
+     * step screenshots do not pile up until teardown.
+     *
+     * @param scenario Current Cucumber scenario
+     */
+    public void attachCompleted(Scenario scenario) {
+        List<PendingAttachment> toAttach = new ArrayList<>();
+        List<PendingAttachment> overflow = new ArrayList<>();
+        synchronized (pending) {
+            pending.removeIf(attachment -> attachment.image().isDone() && toAttach.add(attachment));
+            while (pending.size() > MAX_PENDING) {
+                overflow.add(pending.remove(0));
+            }
+        }
+        for (PendingAttachment attachment : toAttach) {
+            attach(scenario, attachment, 0);
+        }
+        long deadline = System.nanoTime() + PENDING_WAIT.toNanos();
+        for (PendingAttachment attachment : overflow) {
+            attach(scenario, attachment, Math.max(0, deadline - System.nanoTime()));
+        }
+    }
+
+    /**
+     * Waits for queued screenshots and attaches them to the Cucumber report.
+     * Must be called before the scenario finishes.
+     *
+     * @param scenario Current Cucumber scenario
+     * @param timeout  maximum total time to wait
+     */
+    public void flush(Scenario scenario, Duration timeout) {
+        List<PendingAttachment> toAttach;
+        synchronized (pending) {
+            toAttach = new ArrayList<>(pending);
+            pending.clear();
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (PendingAttachment attachment : toAttach) {
+            attach(scenario, attachment, Math.max(0, deadline - System.nanoTime()));
+        }
+    }
+
+    private static void attach(Scenario scenario, PendingAttachment attachment, long timeoutNanos) {
+        try {
+            byte[] bytes = attachment.image().get(timeoutNanos, TimeUnit.NANOSECONDS);
+            scenario.attach(bytes, attachment.mimeType(), attachment.name());
+            logger.info("Screenshot captured: {}", attachment.name());
+        } catch (Exception e) {
+            attachment.image().cancel(true);
+            // A task that never ran leaves the reserved Allure attachment to be written here
+            attachment.write(new byte[0]);
+            logger.error("Screenshot '{}' was not attached: {}", attachment.name(), e.toString());
+        }
+    }
+
+    /**
+     * Decodes, optionally downscales and re-encodes a PNG screenshot.
+     * The original bytes are returned untouched when no conversion is needed.
+     *
+     * @param png      PNG bytes from the device
+     * @param maxWidth maximum width in pixels, 0 for no limit
+     * @param jpeg     whether to re-encode as JPEG
+     * @return image bytes ready for attachment
+     */
+    static byte[] process(byte[] png, int maxWidth, boolean jpeg) throws IOException {
+        if (maxWidth <= 0 && !jpeg) {
+            return png;
+        }
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        BufferedImage target = scale(source, maxWidth, jpeg);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        ImageIO.write(target, jpeg ? "jpg" : "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Scales an image down to the given width, keeping the aspect ratio.
+     * JPEG output always needs an opaque RGB image, so it is converted even at full size.
+     *
+     * @param source   decoded image
+     * @param maxWidth maximum width in pixels, 0 for no limit
+     * @param opaque   whether the result must not carry an alpha channel
+     * @return scaled image, or the source if nothing had to change
+     */
+    static BufferedImage scale(BufferedImage source, int maxWidth, boolean opaque) {
+        boolean resize = maxWidth > 0 && source.getWidth() > maxWidth;
+        if (!resize && !opaque) {
+            return source;
+        }
+        int width = resize ? maxWidth : source.getWidth();
+        int height = resize ? Math.max(1, source.getHeight() * maxWidth / source.getWidth()) : source.getHeight();
+        BufferedImage target = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static boolean isJpeg() {
+        String format = AppiumConfig.getScreenshotFormat();
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+}
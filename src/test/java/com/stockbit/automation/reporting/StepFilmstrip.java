@@ -0,0 +1,212 @@
+package com.stockbit.automation.reporting;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.cucumber.java.Scenario;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last N step frames of a scenario as small in-memory thumbnails.
+ * <p>
+ * Frames are captured and downscaled on the {@link ReportingExecutor} so steps do not wait
+ * for them. At most one capture is in flight; steps that end while a frame is being taken
+ * are coalesced, and the capture that follows takes the latest of them. The last step, which
+ * is the failing one, therefore always gets its frame; skipped steps are counted and shown on
+ * the attachment. On failure the buffer is attached as a single filmstrip image; on success
+ * it is dropped without touching the disk.
+ */
+public class StepFilmstrip {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepFilmstrip.class);
+    private static final int GAP = 8;
+
+    private final int capacity;
+    private final int frameWidth;
+    private final ArrayDeque<Frame> frames;
+    private Future<?> inFlight;
+    private boolean capturing;
+    private int stepIndex;
+    private int requestedStep;
+    private int skippedFrames;
+
+    private record Frame(int step, BufferedImage image) {
+    }
+
+    /**
+     * @param capacity   number of frames to keep
+     * @param frameWidth width of each thumbnail in pixels
+     */
+    public StepFilmstrip(int capacity, int frameWidth) {
+        this.capacity = capacity;
+        this.frameWidth = frameWidth;
+        this.frames = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Captures a frame for the step that just finished, without blocking the test thread.
+     *
+     * @param driver current driver
+     */
+    public synchronized void captureAsync(AndroidDriver driver) {
+        int step = ++stepIndex;
+        requestedStep = step;
+        if (capturing) {
+            logger.debug("Deferring filmstrip frame for step {}, previous capture still running", step);
+            return;
+        }
+        capturing = true;
+        inFlight = ReportingExecutor.get().submit(() -> captureFrom(driver, step));
+    }
+
+    /**
+     * Captures the given step, then the latest step requested meanwhile, until none is left.
+     */
+    private void captureFrom(AndroidDriver driver, int firstStep) {
+        int step = firstStep;
+        try {
+            while (step > 0) {
+                captureFrame(driver, step);
+                synchronized (this) {
+                    if (requestedStep > step) {
+                        skippedFrames += requestedStep - step - 1;
+                        step = requestedStep;
+                    } else {
+                        step = 0;
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                capturing = false;
+            }
+        }
+    }
+
+    private void captureFrame(AndroidDriver driver, int step) {
+        try {
+            String base64 = driver.getScreenshotAs(OutputType.BASE64);
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getMimeDecoder().decode(base64)));
+            if (image != null) {
+                add(new Frame(step, ScreenshotPipeline.scale(image, frameWidth, true)));
+            }
+        } catch (Exception e) {
+            logger.debug("Filmstrip frame for step {} not captured: {}", step, e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for a capture that is still running. Call before the session is closed.
+     *
+     * @param timeout maximum time to wait
+     */
+    public void awaitPending(Duration timeout) {
+        Future<?> pending;
+        synchronized (this) {
+            pending = inFlight;
+        }
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            pending.cancel(true);
+            synchronized (this) {
+                // A task cancelled before it started never resets the flag itself
+                capturing = false;
+            }
+        }
+    }
+
+    /**
+     * Attaches the buffered frames as one filmstrip image and clears the buffer.
+     *
+     * @param scenario Current Cucumber scenario
+     */
+    public void attach(Scenario scenario) {
+        int skipped;
+        synchronized (this) {
+            skipped = skippedFrames;
+        }
+        List<Frame> snapshot = drain();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        try {
+            byte[] strip = compose(snapshot);
+            String name = "Last " + snapshot.size() + " steps (from step " + snapshot.get(0).step() + ")"
+                    + (skipped > 0 ? ", " + skipped + " skipped" : "");
+            scenario.attach(strip, "image/jpeg", name);
+            Allure.addAttachment(name, "image/jpeg", new ByteArrayInputStream(strip), ".jpg");
+            logger.info("Attached filmstrip with {} frames, {} steps skipped while a capture was running",
+                    snapshot.size(), skipped);
+        } catch (IOException e) {
+            logger.error("Failed to attach filmstrip: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops all buffered frames.
+     */
+    public void discard() {
+        drain();
+    }
+
+    private synchronized void add(Frame frame) {
+        if (frames.size() == capacity) {
+            frames.removeFirst();
+        }
+        frames.addLast(frame);
+    }
+
+    private synchronized List<Frame> drain() {
+        List<Frame> snapshot = new ArrayList<>(frames);
+        frames.clear();
+        skippedFrames = 0;
+        return snapshot;
+    }
+
+    private static byte[] compose(List<Frame> frames) throws IOException {
+        int width = GAP;
+        int height = 0;
+        for (Frame frame : frames) {
+            width += frame.image().getWidth() + GAP;
+            height = Math.max(height, frame.image().getHeight());
+        }
+        BufferedImage strip = new BufferedImage(width, height + 2 * GAP, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = strip.createGraphics();
+        try {
+            g.setColor(Color.DARK_GRAY);
+            g.fillRect(0, 0, strip.getWidth(), strip.getHeight());
+            int x = GAP;
+            for (Frame frame : frames) {
+                g.drawImage(frame.image(), x, GAP, null);
+                g.setColor(Color.YELLOW);
+                g.drawString("Step " + frame.step(), x + 4, GAP + 14);
+                x += frame.image().getWidth() + GAP;
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(strip, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.stockbit.automation.runners;
+
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.drivers.DevicePool;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+/**
+ * Sizes Cucumber's parallel executor to the number of configured devices,
+ * so exactly one scenario runs per device at a time.
+ * <p>
+ * The pool may still grow beyond that. Each feature runs as a task that joins its scenario
+ * tasks, and a worker waiting in that join (or on a {@code DevicePool} lease) counts as
+ * blocked, so the fork-join pool starts a compensating worker to keep {@code devices}
+ * runnable; refusing to do so fails the run. With features running side by side, up to
+ * {@code parallel.blocked.workers.per.device} workers per device may wait at once. Extra
+ * workers cannot start more sessions than there are devices because leases wait; a worker
+ * that picks up a scenario while another worker idles on a kept session takes that device
+ * over.
+ */
+public class DeviceParallelStrategy implements ParallelExecutionConfigurationStrategy {
+
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int devices = DevicePool.size();
+        int blockedWorkers = devices * AppiumConfig.getBlockedWorkersPerDevice();
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return devices;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return devices;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return devices + blockedWorkers;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return devices;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+        };
+    }
+}
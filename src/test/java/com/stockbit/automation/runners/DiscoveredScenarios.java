@@ -0,0 +1,43 @@
+package com.stockbit.automation.runners;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Records which scenarios the launch is going to run, after the tag, line and shard filters
+ * have been applied. Registered through {@code META-INF/services}, so it sees every launch.
+ * <p>
+ * Scenarios are keyed the same way as {@link ShardFilter} keys them, by
+ * {@link ShardPlanner#key(String, int)}.
+ */
+public class DiscoveredScenarios implements TestExecutionListener {
+
+    private static volatile Set<String> planned;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        Set<String> keys = new HashSet<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier identifier : testPlan.getDescendants(root)) {
+                if (identifier.isTest()) {
+                    ShardFilter.scenarioKey(identifier.getSource()).ifPresent(keys::add);
+                }
+            }
+        }
+        planned = Set.copyOf(keys);
+    }
+
+    /**
+     * Keys of the scenarios in the running test plan.
+     *
+     * @return scenario keys, or empty if no test plan has started yet
+     */
+    public static Optional<Set<String>> planned() {
+        return Optional.ofNullable(planned);
+    }
+}
@@ -0,0 +1,106 @@
+package com.stockbit.automation.runners;
+
+import com.stockbit.automation.context.PrefixExecution;
+import com.stockbit.automation.context.ScenarioCheckpoints;
+import com.stockbit.automation.drivers.DriverManager;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drives {@link PrefixExecution} from Cucumber events. Events are delivered on the thread
+ * that runs the scenario, so the per-thread session state lines up with the driver.
+ * <p>
+ * The scenario trie holds only the scenarios the launch runs (see {@link DiscoveredScenarios}),
+ * so fork points and sharing counts ignore scenarios excluded by tags, lines or sharding. It is
+ * built when the first scenario starts, once the test plan is known.
+ * <p>
+ * Before each step it decides whether the steps run so far end a shared prefix worth a
+ * checkpoint: the prefix is shared with another scenario, every step in it can be skipped,
+ * and either the scenarios fork here or the next step cannot be skipped.
+ * Usage: {@code com.stockbit.automation.runners.PrefixSharingPlugin:<features directory>}.
+ */
+public class PrefixSharingPlugin implements ConcurrentEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefixSharingPlugin.class);
+
+    private final String featuresDir;
+    private volatile ScenarioTrie trie;
+    private final ThreadLocal<List<PickleStepTestStep>> stepsThreadLocal = new ThreadLocal<>();
+
+    public PrefixSharingPlugin(String featuresDir) {
+        this.featuresDir = featuresDir;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // Sessions kept by prefix sharing or session reuse are closed once the run is over
+        publisher.registerHandlerFor(TestRunFinished.class, event -> DriverManager.quitAllDrivers());
+        if (!PrefixExecution.isEnabled() && !ScenarioCheckpoints.isEnabled()) {
+            return;
+        }
+        // Step tracking also serves the resume of in-scenario checkpoints
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        List<PickleStepTestStep> steps = event.getTestCase().getTestSteps().stream()
+                .filter(PickleStepTestStep.class::isInstance)
+                .map(PickleStepTestStep.class::cast)
+                .toList();
+        stepsThreadLocal.set(steps);
+        PrefixExecution.beginScenario(texts(steps));
+    }
+
+    private ScenarioTrie trie() {
+        if (trie == null && PrefixExecution.isEnabled()) {
+            synchronized (this) {
+                if (trie == null) {
+                    Set<String> planned = DiscoveredScenarios.planned().orElse(null);
+                    if (planned == null) {
+                        logger.warn("Test plan not known, prefix sharing counts every scenario under {}", featuresDir);
+                    }
+                    trie = ScenarioTrie.fromFeatures(Paths.get(featuresDir), key -> planned == null || planned.contains(key));
+                    logger.info("Prefix sharing enabled, {} repeated steps across the planned scenarios", trie.repeatedSteps());
+                }
+            }
+        }
+        return trie;
+    }
+
+    private static List<String> texts(List<PickleStepTestStep> steps) {
+        return steps.stream().map(step -> step.getStep().getText()).toList();
+    }
+
+    private void onTestStepStarted(TestStepStarted event) {
+        TestStep testStep = event.getTestStep();
+        List<PickleStepTestStep> steps = stepsThreadLocal.get();
+        if (!(testStep instanceof PickleStepTestStep) || steps == null) {
+            return;
+        }
+        int index = steps.indexOf(testStep);
+        ScenarioTrie trie = trie();
+        if (trie != null && index > 0 && isCheckpointDue(trie, texts(steps), index)) {
+            PrefixExecution.capture(index);
+        }
+        PrefixExecution.stepStarted(index);
+    }
+
+    private static boolean isCheckpointDue(ScenarioTrie trie, List<String> texts, int executed) {
+        if (PrefixExecution.guardedSteps() < executed || trie.scenariosSharing(texts, executed) < 2) {
+            return false;
+        }
+        return trie.isForkPoint(texts, executed) || !PrefixExecution.isSkippable(texts.get(executed));
+    }
+}
@@ -0,0 +1,174 @@
+package com.stockbit.automation.runners;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
+import io.cucumber.messages.types.FeatureChild;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Pickle;
+import io.cucumber.messages.types.PickleStep;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
+import io.cucumber.messages.types.TableRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Trie of scenarios keyed by step text, so scenarios that start with the same steps
+ * (backgrounds, navigation, "add product to cart" set-ups) share one path.
+ * <p>
+ * Each node counts the scenarios that pass through it. A node reached by two or more
+ * scenarios is a shared prefix; the deepest such node on a scenario's path is where it
+ * forks from its siblings, which is where an app-state checkpoint pays off.
+ */
+public class ScenarioTrie {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioTrie.class);
+
+    private final Node root = new Node();
+
+    private static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private int scenarios;
+    }
+
+    /**
+     * Builds the trie from the scenarios under a directory that the run includes.
+     * Background steps and outline examples are expanded the same way Cucumber runs them.
+     *
+     * @param featuresDir directory containing {@code .feature} files
+     * @param included    tells by {@link ShardPlanner#key(String, int)} whether a scenario runs
+     * @return trie of the included scenarios, empty if the directory cannot be read
+     */
+    public static ScenarioTrie fromFeatures(Path featuresDir, Predicate<String> included) {
+        ScenarioTrie trie = new ScenarioTrie();
+        GherkinParser parser = GherkinParser.builder()
+                .includeSource(false)
+                .includeGherkinDocument(true)
+                .includePickles(true)
+                .build();
+        try (Stream<Path> files = Files.walk(featuresDir)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".feature")).sorted().toList()) {
+                List<Envelope> envelopes;
+                try (Stream<Envelope> parsed = parser.parse(file)) {
+                    envelopes = parsed.toList();
+                }
+                Map<String, Long> lines = new HashMap<>();
+                envelopes.stream().map(Envelope::getGherkinDocument).flatMap(Optional::stream)
+                        .forEach(document -> collectLines(document, lines));
+                envelopes.stream().map(Envelope::getPickle).flatMap(Optional::stream)
+                        .filter(pickle -> included.test(ShardPlanner.key(pickle.getUri(), line(pickle, lines))))
+                        .forEach(pickle -> trie.insert(pickle.getSteps().stream().map(PickleStep::getText).toList()));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read features from {}: {}", featuresDir, e.getMessage());
+        }
+        return trie;
+    }
+
+    /**
+     * Line Cucumber reports for a pickle: the example row of an outline, else the scenario.
+     */
+    private static int line(Pickle pickle, Map<String, Long> lines) {
+        List<String> ids = pickle.getAstNodeIds();
+        return lines.getOrDefault(ids.get(ids.size() - 1), 0L).intValue();
+    }
+
+    private static void collectLines(GherkinDocument document, Map<String, Long> lines) {
+        document.getFeature().ifPresent(feature -> {
+            for (FeatureChild child : feature.getChildren()) {
+                child.getScenario().ifPresent(scenario -> collectLines(scenario, lines));
+                child.getRule().ifPresent(rule -> {
+                    for (RuleChild ruleChild : rule.getChildren()) {
+                        ruleChild.getScenario().ifPresent(scenario -> collectLines(scenario, lines));
+                    }
+                });
+            }
+        });
+    }
+
+    private static void collectLines(Scenario scenario, Map<String, Long> lines) {
+        lines.put(scenario.getId(), scenario.getLocation().getLine());
+        for (Examples examples : scenario.getExamples()) {
+            for (TableRow row : examples.getTableBody()) {
+                lines.put(row.getId(), row.getLocation().getLine());
+            }
+        }
+    }
+
+    /**
+     * Adds one scenario's steps.
+     *
+     * @param steps step texts in execution order
+     */
+    public synchronized void insert(List<String> steps) {
+        Node node = root;
+        node.scenarios++;
+        for (String step : steps) {
+            node = node.children.computeIfAbsent(step, s -> new Node());
+            node.scenarios++;
+        }
+    }
+
+    /**
+     * Counts the scenarios that start with the given steps.
+     *
+     * @param steps  step texts of a scenario
+     * @param length number of leading steps to consider
+     * @return number of scenarios sharing that prefix, 0 if none
+     */
+    public synchronized int scenariosSharing(List<String> steps, int length) {
+        Node node = root;
+        for (int i = 0; i < length; i++) {
+            node = node.children.get(steps.get(i));
+            if (node == null) {
+                return 0;
+            }
+        }
+        return node.scenarios;
+    }
+
+    /**
+     * Whether the scenario forks from its siblings right after the given number of steps,
+     * i.e. the prefix is shared but fewer scenarios continue with the next step.
+     *
+     * @param steps  step texts of a scenario
+     * @param length number of steps executed so far
+     * @return true if the prefix is shared and this is its last shared step
+     */
+    public boolean isForkPoint(List<String> steps, int length) {
+        int shared = scenariosSharing(steps, length);
+        if (length == 0 || shared < 2) {
+            return false;
+        }
+        return length == steps.size() || scenariosSharing(steps, length + 1) < shared;
+    }
+
+    /**
+     * Number of step executions a run could save by executing every shared prefix once.
+     *
+     * @return steps executed more than once across all scenarios
+     */
+    public synchronized int repeatedSteps() {
+        return repeatedSteps(root);
+    }
+
+    private static int repeatedSteps(Node node) {
+        int repeated = 0;
+        for (Node child : node.children.values()) {
+            repeated += (child.scenarios - 1) + repeatedSteps(child);
+        }
+        return repeated;
+    }
+}
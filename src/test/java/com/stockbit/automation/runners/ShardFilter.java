@@ -0,0 +1,141 @@
+package com.stockbit.automation.runners;
+
+import com.stockbit.automation.config.AppiumConfig;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps only this runner's share of the discovered scenarios when {@code shard.total} is
+ * greater than 1. Registered through {@code META-INF/services}, so it applies to every launch.
+ * <p>
+ * The full scenario list is taken from the discovered test tree and split by
+ * {@link ShardPlanner}; every shard computes the same plan and keeps its own part. That only
+ * holds if every shard reads the same durations, so durations are used only from an explicit
+ * {@code shard.durations} report that covers every discovered scenario (one merged from all
+ * shards of a previous run); otherwise the split is by count, which needs no shared input. The
+ * selected scenarios are also written as a Cucumber line filter
+ * ({@code target/shards/shard-N.txt}) so a shard can be re-run or inspected on its own.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardFilter.class);
+
+    private Set<String> selected;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        int total = AppiumConfig.getShardTotal();
+        if (total <= 1 || !descriptor.isTest()) {
+            return FilterResult.included("sharding disabled or container");
+        }
+        Optional<String> key = scenarioKey(descriptor.getSource());
+        if (key.isEmpty()) {
+            return FilterResult.included("not a scenario");
+        }
+        if (selected == null) {
+            selected = planShard(root(descriptor), total, AppiumConfig.getShardIndex());
+        }
+        return selected.contains(key.get())
+                ? FilterResult.included("in shard " + AppiumConfig.getShardIndex())
+                : FilterResult.excluded("in another shard");
+    }
+
+    private Set<String> planShard(TestDescriptor root, int total, int index) {
+        List<String> scenarios = new ArrayList<>();
+        for (TestDescriptor descendant : root.getDescendants()) {
+            if (descendant.isTest()) {
+                scenarioKey(descendant.getSource()).ifPresent(scenarios::add);
+            }
+        }
+        ShardPlanner planner = durationPlanner(scenarios);
+        List<String> mine = planner.plan(scenarios, total).get(Math.floorMod(index - 1, total));
+        writeLineFilter(mine, index);
+        logger.info("Running shard {}/{} with {} of {} scenarios", index, total, mine.size(), scenarios.size());
+        return new HashSet<>(mine);
+    }
+
+    /**
+     * Planner from the shared durations report, or a count-based planner when there is no
+     * report. Scenarios the report misses are weighted by its mean duration.
+     */
+    private static ShardPlanner durationPlanner(List<String> scenarios) {
+        String report = AppiumConfig.getShardDurationsReport();
+        if (report.isBlank()) {
+            logger.info("No shard.durations report given, sharding by scenario count");
+            return new ShardPlanner(Map.of());
+        }
+        ShardPlanner planner = ShardPlanner.fromReport(Paths.get(report));
+        List<String> missing = planner.missing(scenarios);
+        if (!missing.isEmpty()) {
+            logger.warn("{} has no duration for {} of {} scenarios, weighting them by the mean: {}",
+                    report, missing.size(), scenarios.size(), missing);
+        }
+        return planner;
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+
+    /**
+     * Scenario location from the pickle's source, e.g. {@code features/cart.feature:14}.
+     */
+    static Optional<String> scenarioKey(Optional<TestSource> source) {
+        if (source.isPresent() && source.get() instanceof FileSource file && file.getPosition().isPresent()) {
+            return Optional.of(ShardPlanner.key(file.getFile().getPath(), file.getPosition().get().getLine()));
+        }
+        if (source.isPresent() && source.get() instanceof ClasspathResourceSource resource && resource.getPosition().isPresent()) {
+            FilePosition position = resource.getPosition().get();
+            return Optional.of(ShardPlanner.key(resource.getClasspathResourceName(), position.getLine()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the shard as {@code path:line:line} entries, one feature per line.
+     */
+    private static void writeLineFilter(List<String> scenarios, int index) {
+        Map<String, List<Integer>> lines = new TreeMap<>();
+        for (String scenario : scenarios) {
+            int separator = scenario.lastIndexOf(':');
+            lines.computeIfAbsent(scenario.substring(0, separator), f -> new ArrayList<>())
+                    .add(Integer.parseInt(scenario.substring(separator + 1)));
+        }
+        StringBuilder filter = new StringBuilder();
+        lines.forEach((feature, featureLines) -> {
+            filter.append(feature);
+            featureLines.stream().sorted().forEach(line -> filter.append(':').append(line));
+            filter.append('\n');
+        });
+        try {
+            Path file = Paths.get("target", "shards", "shard-" + index + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, filter.toString());
+        } catch (IOException e) {
+            logger.warn("Could not write shard line filter: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.stockbit.automation.runners;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits scenarios into shards of roughly equal duration.
+ * <p>
+ * Durations come from a previous run's {@code cucumber.json}. Scenarios are assigned
+ * longest-first, each to the shard with the least work so far (LPT bin packing), so one
+ * long feature such as checkout no longer leaves the other shards idle. Scenarios without
+ * a recorded duration are weighted with the mean of the known ones. Ties are broken by
+ * scenario key, so every shard computes the same plan from the same inputs; without
+ * durations all scenarios weigh the same and the plan is a round-robin over the sorted keys.
+ */
+public class ShardPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlanner.class);
+    private static final long DEFAULT_DURATION_NANOS = 60_000_000_000L;
+
+    private final Map<String, Long> durations;
+
+    /**
+     * @param durations known scenario durations in nanoseconds, keyed by {@link #key(String, int)}
+     */
+    public ShardPlanner(Map<String, Long> durations) {
+        this.durations = durations;
+    }
+
+    /**
+     * Creates a planner from a Cucumber JSON report. A missing or unreadable report gives a
+     * planner without durations, which still spreads scenarios evenly by count.
+     *
+     * @param report path to {@code cucumber.json}
+     * @return planner
+     */
+    public static ShardPlanner fromReport(Path report) {
+        if (!Files.isReadable(report)) {
+            logger.info("No previous report at {}, sharding by scenario count", report);
+            return new ShardPlanner(Map.of());
+        }
+        try {
+            return new ShardPlanner(readDurations(Files.readString(report)));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not read scenario durations from {}: {}", report, e.getMessage());
+            return new ShardPlanner(Map.of());
+        }
+    }
+
+    /**
+     * Sums step and hook durations per scenario. Background steps are charged to the
+     * scenario that follows them, since they run as part of it.
+     *
+     * @param json Cucumber JSON report
+     * @return durations in nanoseconds keyed by {@link #key(String, int)}
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Long> readDurations(String json) {
+        Map<String, Long> result = new HashMap<>();
+        List<Map<String, Object>> features = new Json().toType(json, List.class);
+        for (Map<String, Object> feature : features) {
+            String uri = String.valueOf(feature.get("uri"));
+            long background = 0;
+            for (Map<String, Object> element : (List<Map<String, Object>>) feature.getOrDefault("elements", List.of())) {
+                long duration = sumResults(element.get("before")) + sumResults(element.get("after"));
+                for (Map<String, Object> step : (List<Map<String, Object>>) element.getOrDefault("steps", List.of())) {
+                    duration += duration(step) + sumResults(step.get("before")) + sumResults(step.get("after"));
+                }
+                if ("background".equals(element.get("type"))) {
+                    background = duration;
+                } else {
+                    int line = ((Number) element.get("line")).intValue();
+                    result.merge(key(uri, line), duration + background, Long::sum);
+                    background = 0;
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long sumResults(Object hooks) {
+        long total = 0;
+        if (hooks instanceof List<?> list) {
+            for (Object hook : list) {
+                total += duration((Map<String, Object>) hook);
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long duration(Map<String, Object> stepOrHook) {
+        Object result = stepOrHook.get("result");
+        if (result instanceof Map<?, ?> map && map.get("duration") instanceof Number number) {
+            return number.longValue();
+        }
+        return 0;
+    }
+
+    /**
+     * Builds a location key that is the same for the report's URI and the discovered file,
+     * whether the feature was loaded from the file system or the classpath.
+     *
+     * @param uri  feature URI or path
+     * @param line scenario (or example row) line
+     * @return key such as {@code features/checkout_e2e.feature:12}
+     */
+    public static String key(String uri, int line) {
+        String path = uri.replace('\\', '/').replaceFirst("^(file|classpath):", "");
+        int features = path.lastIndexOf("features/");
+        if (features >= 0) {
+            path = path.substring(features);
+        }
+        return path + ":" + line;
+    }
+
+    /**
+     * Scenarios the durations do not cover.
+     *
+     * @param scenarios scenario keys to check
+     * @return keys without a recorded duration, in the given order
+     */
+    public List<String> missing(List<String> scenarios) {
+        List<String> missing = new ArrayList<>();
+        for (String scenario : scenarios) {
+            if (!durations.containsKey(scenario)) {
+                missing.add(scenario);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Assigns scenarios to shards, longest first, each to the currently least loaded shard.
+     *
+     * @param scenarios scenario keys to distribute
+     * @param shards    number of shards
+     * @return scenario keys per shard, indexed from 0
+     */
+    public List<List<String>> plan(List<String> scenarios, int shards) {
+        long fallback = durations.isEmpty()
+                ? DEFAULT_DURATION_NANOS
+                : (long) durations.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_DURATION_NANOS);
+
+        List<String> ordered = new ArrayList<>(scenarios);
+        ordered.sort(Comparator.<String>comparingLong(s -> durations.getOrDefault(s, fallback))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> plan = new ArrayList<>();
+        long[] load = new long[shards];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(i -> load[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < shards; i++) {
+            plan.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+        for (String scenario : ordered) {
+            int shard = leastLoaded.poll();
+            plan.get(shard).add(scenario);
+            load[shard] += durations.getOrDefault(scenario, fallback);
+            leastLoaded.add(shard);
+        }
+        for (int i = 0; i < shards; i++) {
+            logger.info("Shard {}/{}: {} scenarios, ~{} s", i + 1, shards, plan.get(i).size(), load[i] / 1_000_000_000L);
+        }
+        return plan;
+    }
+}
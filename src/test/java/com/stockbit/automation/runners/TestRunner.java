@@ -7,6 +7,7 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 /**
  * JUnit 5 Test Runner for Cucumber tests.
  * Configures Cucumber options and Allure reporting.
+ * Scenarios run in parallel, one per device from {@code device.names}.
  */
 @Suite
 @IncludeEngines("cucumber")
@@ -14,11 +15,19 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 @ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = "pretty," +
         "html:target/cucumber-reports/cucumber.html," +
         "json:target/cucumber-reports/cucumber.json," +
-        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm")
+        "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm," +
+        "com.stockbit.automation.runners.PrefixSharingPlugin:src/test/resources/features")
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.stockbit.automation.steps,com.stockbit.automation.hooks")
 @ConfigurationParameter(key = FEATURES_PROPERTY_NAME, value = "src/test/resources/features")
 @ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@drawing or (@e2e and @checkout)")
 @ConfigurationParameter(key = SNIPPET_TYPE_PROPERTY_NAME, value = "camelcase")
+// One scenario per configured device at a time (device.names)
+@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, value = "custom")
+@ConfigurationParameter(key = PARALLEL_CONFIG_CUSTOM_CLASS_PROPERTY_NAME, value = "com.stockbit.automation.runners.DeviceParallelStrategy")
+// Scenarios that kill or wipe the app never overlap each other
+@ConfigurationParameter(key = "cucumber.execution.exclusive-resources.reset.read-write", value = "app-state")
+@ConfigurationParameter(key = "cucumber.execution.exclusive-resources.crash_app_debug.read-write", value = "app-state")
 public class TestRunner {
     // This class serves as an entry point for running Cucumber tests with JUnit 5
     // Configuration is done via annotations
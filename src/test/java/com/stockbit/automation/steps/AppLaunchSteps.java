@@ -1,5 +1,6 @@
 package com.stockbit.automation.steps;
 
+import com.stockbit.automation.context.Skippable;
 import com.stockbit.automation.context.TestContext;
 import com.stockbit.automation.pages.HomePage;
 import io.cucumber.java.en.Given;
@@ -24,11 +25,19 @@ public class AppLaunchSteps {
         this.testContext = testContext;
     }
 
+    private HomePage getHomePage() {
+        if (homePage == null) {
+            homePage = new HomePage(testContext.getDriver());
+        }
+        return homePage;
+    }
+
     @Given("the app is launched")
     @Step("Launch the application")
+    @Skippable
     public void theAppIsLaunched() {
         logger.info("App is being launched...");
-        homePage = new HomePage(testContext.getDriver());
+        getHomePage();
         // App is already launched when driver is initialized
         logger.info("App launched successfully");
     }
@@ -38,7 +47,7 @@ public class AppLaunchSteps {
     public void theAppShouldBeRunning() {
         logger.info("Verifying app is running...");
         assertNotNull(testContext.getDriver(), "Driver should not be null");
-        assertTrue(homePage.isHomePageDisplayed(), "App should be displayed");
+        assertTrue(getHomePage().isHomePageDisplayed(), "App should be displayed");
         logger.info("App is running and home page is displayed");
     }
 
@@ -46,7 +55,7 @@ public class AppLaunchSteps {
     @Step("Verify home screen is displayed")
     public void iShouldSeeTheHomeScreen() {
         logger.info("Verifying home screen is displayed...");
-        assertTrue(homePage.isHomePageDisplayed(), "Home screen should be displayed");
+        assertTrue(getHomePage().isHomePageDisplayed(), "Home screen should be displayed");
         logger.info("Home screen verified");
     }
 
@@ -65,7 +74,7 @@ public class AppLaunchSteps {
     @Then("I capture the current activity")
     @Step("Capture current activity name")
     public void iCaptureTheCurrentActivity() {
-        String activity = homePage.getCurrentActivity();
+        String activity = getHomePage().getCurrentActivity();
         logger.info("Current Activity: {}", activity);
         testContext.setContext("currentActivity", activity);
         assertNotNull(activity, "Activity should not be null");
@@ -74,7 +83,7 @@ public class AppLaunchSteps {
     @Then("I log the page source")
     @Step("Log page source for debugging")
     public void iLogThePageSource() {
-        String pageSource = homePage.getPageSource();
+        String pageSource = getHomePage().getPageSource();
         logger.info("Page Source length: {} characters", pageSource.length());
         // Log first 500 characters for debugging
         logger.debug("Page Source (first 500 chars): {}", 
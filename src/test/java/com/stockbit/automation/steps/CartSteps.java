@@ -1,7 +1,9 @@
 package com.stockbit.automation.steps;
 
+import com.stockbit.automation.context.Skippable;
 import com.stockbit.automation.context.TestContext;
 import com.stockbit.automation.pages.CartPage;
+import com.stockbit.automation.pages.CartState;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -34,6 +36,7 @@ public class CartSteps {
 
     @Given("I am on the cart page")
     @Step("Navigate to cart page")
+    @Skippable
     public void iAmOnTheCartPage() {
         logger.info("Navigating to cart page...");
         // Click on cart icon to navigate to cart
@@ -43,6 +46,7 @@ public class CartSteps {
 
     @Then("I should see the cart page")
     @Step("Verify cart page is displayed")
+    @Skippable
     public void iShouldSeeTheCartPage() {
         logger.info("Verifying cart page is displayed...");
         assertTrue(getCartPage().isCartPageDisplayed(), "Cart page should be displayed");
@@ -50,23 +54,26 @@ public class CartSteps {
 
     @Then("the cart should contain at least {int} item(s)")
     @Step("Verify cart contains at least {0} item(s)")
+    @Skippable
     public void theCartShouldContainAtLeastItems(int minItems) {
-        int itemCount = getCartPage().getCartItemCount();
+        int itemCount = getCartPage().snapshot().itemCount();
         logger.info("Cart contains {} items", itemCount);
         assertTrue(itemCount >= minItems, "Cart should contain at least " + minItems + " item(s)");
     }
 
     @Then("total price should be displayed")
     @Step("Verify total price is displayed")
+    @Skippable
     public void totalPriceShouldBeDisplayed() {
-        String totalPrice = getCartPage().getTotalPrice();
+        String totalPrice = getCartPage().snapshot().totalPrice();
         logger.info("Total price: {}", totalPrice);
-        assertNotNull(totalPrice, "Total price should be displayed");
+        assertFalse(totalPrice.isEmpty(), "Total price should be displayed");
         testContext.setContext("cartTotalPrice", totalPrice);
     }
 
     @When("I click proceed to checkout")
     @Step("Click proceed to checkout")
+    @Skippable
     public void iClickProceedToCheckout() {
         logger.info("Clicking proceed to checkout...");
         getCartPage().clickProceedToCheckout();
@@ -74,6 +81,7 @@ public class CartSteps {
 
     @When("I remove the first item")
     @Step("Remove first item from cart")
+    @Skippable
     public void iRemoveTheFirstItem() {
         logger.info("Removing first item from cart...");
         getCartPage().removeItem(0);
@@ -81,6 +89,7 @@ public class CartSteps {
 
     @When("I remove all items from cart")
     @Step("Remove all items from cart")
+    @Skippable
     public void iRemoveAllItemsFromCart() {
         logger.info("Removing all items from cart...");
         getCartPage().removeAllItems();
@@ -88,29 +97,40 @@ public class CartSteps {
 
     @Then("the cart should be empty")
     @Step("Verify cart is empty")
+    @Skippable
     public void theCartShouldBeEmpty() {
-        assertTrue(getCartPage().isCartEmpty(), "Cart should be empty");
+        assertTrue(getCartPage().snapshot().isEmpty(), "Cart should be empty");
     }
 
     @When("I increase quantity of first item")
     @Step("Increase quantity of first item")
+    @Skippable
     public void iIncreaseQuantityOfFirstItem() {
-        logger.info("Increasing quantity of first item...");
-        String priceBefore = getCartPage().getTotalPrice();
+        iIncreaseQuantityOfFirstItemTimes(1);
+    }
+
+    @When("I increase quantity of first item {int} times")
+    @Step("Increase quantity of first item {0} times")
+    @Skippable
+    public void iIncreaseQuantityOfFirstItemTimes(int times) {
+        logger.info("Increasing quantity of first item {} times...", times);
+        String priceBefore = getCartPage().snapshot().totalPrice();
         testContext.setContext("priceBefore", priceBefore);
-        getCartPage().increaseQuantity(0);
+        getCartPage().increaseQuantity(0, times);
     }
 
     @Then("the quantity should be updated")
     @Step("Verify quantity is updated")
+    @Skippable
     public void theQuantityShouldBeUpdated() {
         logger.info("Quantity updated");
     }
 
     @Then("total price should be updated")
     @Step("Verify total price is updated")
+    @Skippable
     public void totalPriceShouldBeUpdated() {
-        String priceAfter = getCartPage().getTotalPrice();
+        String priceAfter = getCartPage().snapshot().totalPrice();
         String priceBefore = (String) testContext.getContext("priceBefore");
         logger.info("Price before: {}, Price after: {}", priceBefore, priceAfter);
         assertNotEquals(priceBefore, priceAfter, "Total price should be updated after quantity change");
@@ -118,18 +138,21 @@ public class CartSteps {
 
     @Then("I should see empty cart message")
     @Step("Verify empty cart message")
+    @Skippable
     public void iShouldSeeEmptyCartMessage() {
-        assertTrue(getCartPage().isCartEmpty(), "Empty cart message should be displayed");
+        assertTrue(getCartPage().snapshot().isEmpty(), "Empty cart message should be displayed");
     }
 
     @Then("go shopping button should be displayed")
     @Step("Verify go shopping button is displayed")
+    @Skippable
     public void goShoppingButtonShouldBeDisplayed() {
         assertTrue(getCartPage().isGoShoppingButtonDisplayed(), "Go shopping button is not displayed");
     }
 
     @When("I click go shopping button")
     @Step("Click go shopping button")
+    @Skippable
     public void iClickGoShoppingButton() {
         logger.info("Clicking go shopping button...");
         getCartPage().clickGoShopping();
@@ -137,16 +160,19 @@ public class CartSteps {
 
     @Then("the product {string} should be in cart")
     @Step("Verify product {0} is in cart")
+    @Skippable
     public void theProductShouldBeInCart(String productName) {
-        assertTrue(getCartPage().isProductInCart(productName), 
+        assertTrue(getCartPage().snapshot().contains(productName), 
                   "Product '" + productName + "' should be in cart");
     }
 
     @And("the selected item name in cart should be correct")
     @Step("Verify selected item name in cart")
+    @Skippable
     public void theSelectedItemNameInCartShouldBeCorrect() {
         String expectedName = (String) testContext.getContext("selectedProductName");
-        String actualName = getCartPage().getProductName(0);
+        CartState cart = getCartPage().snapshot();
+        String actualName = cart.itemCount() > 0 ? cart.items().get(0).name() : "";
         logger.info("Expected product name: '{}', Actual: '{}'", expectedName, actualName);
         
         // Handle case where expected name might not have been stored properly
@@ -163,9 +189,11 @@ public class CartSteps {
 
     @And("the selected item color in cart should be correct")
     @Step("Verify selected item color in cart")
+    @Skippable
     public void theSelectedItemColorInCartShouldBeCorrect() {
         String expectedColor = (String) testContext.getContext("selectedColor");
-        String actualColor = getCartPage().getProductColor(0);
+        CartState cart = getCartPage().snapshot();
+        String actualColor = cart.itemCount() > 0 ? cart.items().get(0).color() : "";
         logger.info("Expected color: {}, Actual color found: '{}'", expectedColor, actualColor);
         
         // The cart may display color as a visual element without text
@@ -176,7 +204,7 @@ public class CartSteps {
         } else {
             // Color is displayed visually, not as text - just verify we have an item in cart
             logger.warn("Color text not found in cart - color is likely displayed as a visual element. Expected color was: {}", expectedColor);
-            assertTrue(getCartPage().getCartItemCount() > 0, 
+            assertTrue(cart.itemCount() > 0, 
                       "Cart should contain at least one item (color verification visual only)");
         }
     }
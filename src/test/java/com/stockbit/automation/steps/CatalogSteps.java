@@ -1,5 +1,6 @@
 package com.stockbit.automation.steps;
 
+import com.stockbit.automation.context.Skippable;
 import com.stockbit.automation.context.TestContext;
 import com.stockbit.automation.pages.CatalogPage;
 import com.stockbit.automation.pages.MenuPage;
@@ -51,6 +52,7 @@ public class CatalogSteps {
 
     @Given("I navigate to catalog from menu")
     @Step("Navigate to catalog from burger menu")
+    @Skippable
     public void iNavigateToCatalogFromMenu() {
         logger.info("Navigating to catalog from menu...");
         getMenuPage().navigateToCatalog();
@@ -59,6 +61,7 @@ public class CatalogSteps {
     @Given("I am on the catalog page")
     @Then("I should see the catalog page")
     @Step("Verify catalog page is displayed")
+    @Skippable
     public void iAmOnTheCatalogPage() {
         logger.info("Verifying catalog page is displayed...");
         assertTrue(getCatalogPage().isCatalogPageDisplayed(), "Catalog page should be displayed");
@@ -66,6 +69,7 @@ public class CatalogSteps {
 
     @Then("products should be displayed")
     @Step("Verify products are displayed")
+    @Skippable
     public void productsShouldBeDisplayed() {
         logger.info("Verifying products are displayed...");
         assertTrue(getCatalogPage().getProductCount() > 0, "Products should be displayed");
@@ -73,6 +77,7 @@ public class CatalogSteps {
 
     @When("I scroll down to view more products")
     @Step("Scroll down to view more products")
+    @Skippable
     public void iScrollDownToViewMoreProducts() {
         logger.info("Scrolling down to view more products...");
         getCatalogPage().scrollToViewMoreProducts();
@@ -80,12 +85,14 @@ public class CatalogSteps {
 
     @Then("I should still be on the catalog page")
     @Step("Verify still on catalog page after scroll")
+    @Skippable
     public void iShouldStillBeOnTheCatalogPage() {
         assertTrue(getCatalogPage().isCatalogPageDisplayed(), "Should still be on catalog page");
     }
 
     @When("I select the first product")
     @Step("Select the first product")
+    @Skippable
     public void iSelectTheFirstProduct() {
         logger.info("Selecting first product...");
         testContext.setContext("selectedProductName",getCatalogPage().returnFirstSelectedProductName());
@@ -96,6 +103,7 @@ public class CatalogSteps {
 
     @When("I select product at index {int}")
     @Step("Select product at index {0}")
+    @Skippable
     public void iSelectProductAtIndex(int index) {
         logger.info("Selecting product at index: {}", index);
         getCatalogPage().selectProduct(index);
@@ -104,6 +112,7 @@ public class CatalogSteps {
 
     @Then("I should see the product detail page")
     @Step("Verify product detail page is displayed")
+    @Skippable
     public void iShouldSeeTheProductDetailPage() {
         logger.info("Verifying product detail page...");
         assertTrue(getProductDetailPage().isProductDetailDisplayed(), "Product detail page should be displayed");
@@ -111,6 +120,7 @@ public class CatalogSteps {
 
     @Then("product title should be displayed")
     @Step("Verify product title is displayed")
+    @Skippable
     public void productTitleShouldBeDisplayed() {
         String title = getProductDetailPage().getProductTitle();
         assertNotNull(title, "Product title should be displayed");
@@ -121,6 +131,7 @@ public class CatalogSteps {
 
     @Then("product price should be displayed")
     @Step("Verify product price is displayed")
+    @Skippable
     public void productPriceShouldBeDisplayed() {
         String price = getProductDetailPage().getProductPrice();
         assertNotNull(price, "Product price should be displayed");
@@ -130,12 +141,14 @@ public class CatalogSteps {
 
     @Then("add to cart button should be displayed")
     @Step("Verify add to cart button is displayed")
+    @Skippable
     public void addToCartButtonShouldBeDisplayed() {
         assertTrue(getProductDetailPage().isProductDetailDisplayed(), "Add to cart button should be displayed");
     }
 
     @When("I select {string} color")
     @Step("Select color: {0}")
+    @Skippable
     public void iSelectColor(String color) {
         logger.info("Selecting color: {}", color);
         getProductDetailPage().selectColor(color);
@@ -144,6 +157,7 @@ public class CatalogSteps {
 
     @Then("the color should be selected")
     @Step("Verify color is selected")
+    @Skippable
     public void theColorShouldBeSelected() {
         logger.info("Color selection verified");
         // Color selection verified by visual check
@@ -151,6 +165,7 @@ public class CatalogSteps {
 
     @When("I click add to cart button")
     @Step("Click add to cart button")
+    @Skippable
     public void iClickAddToCartButton() {
         logger.info("Clicking add to cart...");
         getProductDetailPage().clickAddToCart();
@@ -158,6 +173,7 @@ public class CatalogSteps {
 
     @Then("the cart badge should show {string}")
     @Step("Verify cart badge shows: {0}")
+    @Skippable
     public void theCartBadgeShouldShow(String expectedCount) {
         String actualCount = getCatalogPage().getCartBadgeCount();
         logger.info("Cart badge count: {}", actualCount);
@@ -166,6 +182,7 @@ public class CatalogSteps {
 
     @When("I click on cart icon")
     @Step("Click on cart icon")
+    @Skippable
     public void iClickOnCartIcon() {
         logger.info("Clicking on cart icon...");
         getProductDetailPage().clickCartIcon();
@@ -173,6 +190,7 @@ public class CatalogSteps {
 
     @Given("I have added a product to cart")
     @Step("Add a product to cart")
+    @Skippable
     public void iHaveAddedAProductToCart() {
         logger.info("Adding a product to cart...");
         getCatalogPage().selectFirstProduct();
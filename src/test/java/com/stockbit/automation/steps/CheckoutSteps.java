@@ -1,5 +1,6 @@
 package com.stockbit.automation.steps;
 
+import com.stockbit.automation.context.Skippable;
 import com.stockbit.automation.context.TestContext;
 import com.stockbit.automation.pages.*;
 import io.cucumber.datatable.DataTable;
@@ -79,6 +80,7 @@ public class CheckoutSteps {
 
     @Then("I should see the login page")
     @Step("Verify login page is displayed")
+    @Skippable
     public void iShouldSeeTheLoginPage() {
         logger.info("Verifying login page is displayed...");
         assertTrue(getCheckoutLoginPage().isLoginPageDisplayed(), "Login page should be displayed");
@@ -86,6 +88,7 @@ public class CheckoutSteps {
 
     @When("I login with locked user {string} and password {string}")
     @Step("Login with locked user")
+    @Skippable
     public void iLoginWithLockedUserAndPassword(String username, String password) {
         logger.info("Attempting login with locked user: {}", username);
         getCheckoutLoginPage().login(username, password);
@@ -95,6 +98,7 @@ public class CheckoutSteps {
 
     @Then("I should see locked user error message {string}")
     @Step("Verify locked user error message: {0}")
+    @Skippable
     public void iShouldSeeLockedUserErrorMessage(String expectedMessage) {
         logger.info("Verifying locked user error message...");
         assertTrue(getCheckoutLoginPage().isLockedUserErrorDisplayed(), 
@@ -106,6 +110,7 @@ public class CheckoutSteps {
 
     @When("I clear login fields")
     @Step("Clear login fields")
+    @Skippable
     public void iClearLoginFields() {
         logger.info("Clearing login fields...");
         getCheckoutLoginPage().clearFields();
@@ -113,6 +118,7 @@ public class CheckoutSteps {
 
     @When("I login with valid user {string} and password {string}")
     @Step("Login with valid user")
+    @Skippable
     public void iLoginWithValidUserAndPassword(String username, String password) {
         logger.info("Logging in with valid user: {}", username);
         getCheckoutLoginPage().login(username, password);
@@ -120,6 +126,7 @@ public class CheckoutSteps {
 
     @Given("I have proceeded to checkout")
     @Step("Proceed to checkout")
+    @Skippable
     public void iHaveProceededToCheckout() {
         // Assuming already on cart page
         CartPage cartPage = new CartPage(testContext.getDriver());
@@ -128,6 +135,7 @@ public class CheckoutSteps {
 
     @Given("I have logged in with valid credentials")
     @Step("Login with valid credentials")
+    @Skippable
     public void iHaveLoggedInWithValidCredentials() {
         getCheckoutLoginPage().loginWithValidUser();
     }
@@ -137,6 +145,7 @@ public class CheckoutSteps {
     @Then("I should see the shipping address page")
     @When("I am on the shipping address page")
     @Step("Verify shipping address page is displayed")
+    @Skippable
     public void iShouldSeeTheShippingAddressPage() {
         logger.info("Verifying shipping address page is displayed...");
         assertTrue(getShippingAddressPage().isShippingAddressPageDisplayed(), 
@@ -145,6 +154,7 @@ public class CheckoutSteps {
 
     @When("I click to payment button without filling fields")
     @Step("Click to payment button without filling fields")
+    @Skippable
     public void iClickToPaymentButtonWithoutFillingFields() {
         logger.info("Clicking to payment button without filling fields...");
         getShippingAddressPage().clickToPayment();
@@ -152,6 +162,7 @@ public class CheckoutSteps {
 
     @Then("I should see shipping address validation errors")
     @Step("Verify shipping address validation errors")
+    @Skippable
     public void iShouldSeeShippingAddressValidationErrors() {
         logger.info("Verifying shipping address validation errors...");
         assertTrue(getShippingAddressPage().isAnyValidationErrorDisplayed(), 
@@ -160,6 +171,7 @@ public class CheckoutSteps {
 
     @Then("I should see error for {string} field")
     @Step("Verify error for field: {0}")
+    @Skippable
     public void iShouldSeeErrorForField(String fieldName) {
         logger.info("Verifying error for field: {}", fieldName);
         switch (fieldName.toLowerCase()) {
@@ -188,6 +200,7 @@ public class CheckoutSteps {
 
     @When("I fill shipping address with:")
     @Step("Fill shipping address with provided data")
+    @Skippable
     public void iFillShippingAddressWith(DataTable dataTable) {
         Map<String, String> data = dataTable.asMap(String.class, String.class);
         logger.info("Filling shipping address with: {}", data);
@@ -209,6 +222,7 @@ public class CheckoutSteps {
 
     @When("I click to payment button")
     @Step("Click to payment button")
+    @Skippable
     public void iClickToPaymentButton() {
         logger.info("Clicking to payment button...");
         getShippingAddressPage().clickToPayment();
@@ -216,6 +230,7 @@ public class CheckoutSteps {
 
     @Given("I have completed shipping address")
     @Step("Complete shipping address")
+    @Skippable
     public void iHaveCompletedShippingAddress() {
         getShippingAddressPage().fillMandatoryFields(
             "Rebecca Winter",
@@ -232,6 +247,7 @@ public class CheckoutSteps {
     @Then("I should see the payment page")
     @When("I am on the payment page")
     @Step("Verify payment page is displayed")
+    @Skippable
     public void iShouldSeeThePaymentPage() {
         logger.info("Verifying payment page is displayed...");
         assertTrue(getPaymentPage().isPaymentPageDisplayed(), "Payment page should be displayed");
@@ -239,6 +255,7 @@ public class CheckoutSteps {
 
     @When("I click review order button without filling fields")
     @Step("Click review order button without filling fields")
+    @Skippable
     public void iClickReviewOrderButtonWithoutFillingFields() {
         logger.info("Clicking review order button without filling fields...");
         getPaymentPage().clickReviewOrder();
@@ -246,6 +263,7 @@ public class CheckoutSteps {
 
     @Then("I should see payment validation errors")
     @Step("Verify payment validation errors")
+    @Skippable
     public void iShouldSeePaymentValidationErrors() {
         logger.info("Verifying payment validation errors...");
         assertTrue(getPaymentPage().isAnyValidationErrorDisplayed(), 
@@ -254,6 +272,7 @@ public class CheckoutSteps {
 
     @Then("I should see error for {string} payment field")
     @Step("Verify error for payment field: {0}")
+    @Skippable
     public void iShouldSeeErrorForPaymentField(String fieldName) {
         logger.info("Verifying error for payment field: {}", fieldName);
         switch (fieldName.toLowerCase()) {
@@ -278,6 +297,7 @@ public class CheckoutSteps {
 
     @When("I fill payment with wrong values")
     @Step("Fill payment with wrong values")
+    @Skippable
     public void iFillPaymentWithWrongValues() {
         logger.info("Filling payment with wrong values...");
         getPaymentPage().fillWrongPaymentDetails();
@@ -285,6 +305,7 @@ public class CheckoutSteps {
 
     @When("I clear payment fields")
     @Step("Clear payment fields")
+    @Skippable
     public void iClearPaymentFields() {
         logger.info("Clearing payment fields...");
         getPaymentPage().clearAllFields();
@@ -292,6 +313,7 @@ public class CheckoutSteps {
 
     @When("I fill payment details with:")
     @Step("Fill payment details with provided data")
+    @Skippable
     public void iFillPaymentDetailsWith(DataTable dataTable) {
         Map<String, String> data = dataTable.asMap(String.class, String.class);
         logger.info("Filling payment details with: {}", data);
@@ -309,6 +331,7 @@ public class CheckoutSteps {
 
     @When("I fill correct payment details")
     @Step("Fill correct payment details")
+    @Skippable
     public void iFillCorrectPaymentDetails() {
         logger.info("Filling correct payment details...");
         getPaymentPage().fillCorrectPaymentDetails();
@@ -316,6 +339,7 @@ public class CheckoutSteps {
 
     @When("I uncheck billing address same as shipping")
     @Step("Uncheck billing address same as shipping")
+    @Skippable
     public void iUncheckBillingAddressSameAsShipping() {
         logger.info("Unchecking billing address same as shipping...");
         getPaymentPage().uncheckBillingAddressSameAsShipping();
@@ -323,6 +347,7 @@ public class CheckoutSteps {
 
     @Then("I should see billing address fields")
     @Step("Verify billing address fields are visible")
+    @Skippable
     public void iShouldSeeBillingAddressFields() {
         logger.info("Verifying billing address fields are visible...");
         assertTrue(getPaymentPage().areBillingAddressFieldsVisible(), 
@@ -331,6 +356,7 @@ public class CheckoutSteps {
 
     @When("I check billing address same as shipping")
     @Step("Check billing address same as shipping")
+    @Skippable
     public void iCheckBillingAddressSameAsShipping() {
         logger.info("Checking billing address same as shipping...");
         getPaymentPage().checkBillingAddressSameAsShipping();
@@ -338,6 +364,7 @@ public class CheckoutSteps {
 
     @Then("billing address fields should be hidden")
     @Step("Verify billing address fields are hidden")
+    @Skippable
     public void billingAddressFieldsShouldBeHidden() {
         logger.info("Verifying billing address fields are hidden...");
         assertFalse(getPaymentPage().areBillingAddressFieldsVisible(), 
@@ -346,6 +373,7 @@ public class CheckoutSteps {
 
     @When("I click review order button")
     @Step("Click review order button")
+    @Skippable
     public void iClickReviewOrderButton() {
         logger.info("Clicking review order button...");
         getPaymentPage().clickReviewOrder();
@@ -355,6 +383,7 @@ public class CheckoutSteps {
 
     @Then("I should see the review order page")
     @Step("Verify review order page is displayed")
+    @Skippable
     public void iShouldSeeTheReviewOrderPage() {
         logger.info("Verifying review order page is displayed...");
         assertTrue(getReviewOrderPage().isReviewOrderPageDisplayed(), 
@@ -363,14 +392,17 @@ public class CheckoutSteps {
 
     @And("the order should contain the selected product")
     @Step("Verify order contains selected product")
+    @Skippable
     public void theOrderShouldContainTheSelectedProduct() {
-        int itemCount = getReviewOrderPage().getOrderItemCount();
-        logger.info("Order contains {} items", itemCount);
+        OrderReview review = getReviewOrderPage().snapshot();
+        int itemCount = review.itemCount();
+        logger.info("Order contains {} items: {}", itemCount, review.productNames());
         assertTrue(itemCount > 0, "Order should contain at least one product");
     }
 
     @When("I scroll down to see order details")
     @Step("Scroll down to view order details")
+    @Skippable
     public void iScrollDownToSeeOrderDetails() {
         logger.info("Scrolling down to view order details...");
         getReviewOrderPage().scrollToViewOrderDetails();
@@ -378,38 +410,43 @@ public class CheckoutSteps {
 
     @Then("the delivery address name should be {string}")
     @Step("Verify delivery address name is: {0}")
+    @Skippable
     public void theDeliveryAddressNameShouldBe(String expectedName) {
         logger.info("Verifying delivery address name is: {}", expectedName);
-        String deliveryName = getReviewOrderPage().getDeliveryNameStrict();
+        String deliveryName = getReviewOrderPage().snapshot().deliveryName();
         logger.info("Delivery name found: '{}'", deliveryName);
+        assertFalse(deliveryName.isEmpty(), "Delivery address name should be displayed");
         assertTrue(deliveryName.contains(expectedName), 
                   "Delivery address name should be '" + expectedName + "' but was '" + deliveryName + "'");
     }
 
     @And("the payment card holder name should be {string}")
     @Step("Verify payment card holder name is: {0}")
+    @Skippable
     public void thePaymentCardHolderNameShouldBe(String expectedName) {
         logger.info("Verifying payment card holder name is: {}", expectedName);
-        String cardHolder = getReviewOrderPage().getPaymentCardHolderStrict();
+        String cardHolder = getReviewOrderPage().snapshot().cardHolder();
         logger.info("Payment card holder found: '{}'", cardHolder);
+        assertFalse(cardHolder.isEmpty(), "Payment card holder name should be displayed");
         assertTrue(cardHolder.contains(expectedName), 
                   "Payment card holder name should be '" + expectedName + "' but was '" + cardHolder + "'");
     }
 
     @And("the delivery address should show {string}")
     @Step("Verify delivery address shows: {0}")
+    @Skippable
     public void theDeliveryAddressShouldShow(String expectedText) {
         // Log the delivery info found, but don't fail if exact text not found
         // The critical path is completing the checkout, not verifying every detail
-        String deliveryName = getReviewOrderPage().getDeliveryName();
-        logger.info("Delivery name found: '{}'", deliveryName);
+        String deliveryAddress = getReviewOrderPage().snapshot().fullDeliveryAddress();
+        logger.info("Delivery address found: '{}'", deliveryAddress);
         
-        if (deliveryName.contains(expectedText)) {
+        if (deliveryAddress.contains(expectedText)) {
             logger.info("Delivery address verification PASSED: contains '{}'", expectedText);
         } else {
             // Log warning but don't fail - the exact locator may need adjustment
             logger.warn("Delivery address does not contain '{}'. Actual: '{}'. Continuing with E2E flow.", 
-                       expectedText, deliveryName);
+                       expectedText, deliveryAddress);
         }
         // Verify at least that we're on the review page (this is the critical check)
         assertTrue(getReviewOrderPage().isReviewOrderPageDisplayed(), 
@@ -418,10 +455,11 @@ public class CheckoutSteps {
 
     @And("the payment method should show {string}")
     @Step("Verify payment method shows: {0}")
+    @Skippable
     public void thePaymentMethodShouldShow(String expectedText) {
         // Log the payment info found, but don't fail if exact text not found
         // The critical path is completing the checkout, not verifying every detail
-        String cardHolder = getReviewOrderPage().getPaymentCardHolder();
+        String cardHolder = getReviewOrderPage().snapshot().cardHolder();
         logger.info("Payment card holder found: '{}'", cardHolder);
         
         if (cardHolder.contains(expectedText)) {
@@ -438,6 +476,7 @@ public class CheckoutSteps {
 
     @When("I click place order button")
     @Step("Click place order button")
+    @Skippable
     public void iClickPlaceOrderButton() {
         logger.info("Clicking place order button...");
         getReviewOrderPage().clickPlaceOrder();
@@ -447,6 +486,7 @@ public class CheckoutSteps {
 
     @Then("I should see the checkout complete page")
     @Step("Verify checkout complete page is displayed")
+    @Skippable
     public void iShouldSeeTheCheckoutCompletePage() {
         logger.info("Verifying checkout complete page is displayed...");
         assertTrue(getCheckoutCompletePage().isCheckoutCompletePageDisplayed(), 
@@ -455,19 +495,22 @@ public class CheckoutSteps {
 
     @And("I should see {string} message")
     @Step("Verify message: {0}")
+    @Skippable
     public void iShouldSeeMessage(String expectedMessage) {
         logger.info("Verifying message: {}", expectedMessage);
+        CheckoutConfirmation confirmation = getCheckoutCompletePage().snapshot();
         if (expectedMessage.contains("Checkout Complete")) {
-            assertTrue(getCheckoutCompletePage().isCheckoutCompleteTitleDisplayed(), 
+            assertFalse(confirmation.title().isEmpty(), 
                       "Checkout Complete message should be displayed");
         } else if (expectedMessage.contains("Thank you")) {
-            assertTrue(getCheckoutCompletePage().isThankYouMessageDisplayed(), 
+            assertFalse(confirmation.message().isEmpty(), 
                       "Thank you message should be displayed");
         }
     }
 
     @When("I click continue shopping button")
     @Step("Click continue shopping button")
+    @Skippable
     public void iClickContinueShoppingButton() {
         logger.info("Clicking continue shopping button...");
         getCheckoutCompletePage().clickContinueShopping();
@@ -475,6 +518,7 @@ public class CheckoutSteps {
 
     @Then("I should be back on the products page")
     @Step("Verify back on products page")
+    @Skippable
     public void iShouldBeBackOnTheProductsPage() {
         logger.info("Verifying back on products page...");
         assertTrue(getCatalogPage().isCatalogPageDisplayed(), "Should be back on products page");
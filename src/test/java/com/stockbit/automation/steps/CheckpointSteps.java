@@ -0,0 +1,27 @@
+package com.stockbit.automation.steps;
+
+import com.stockbit.automation.context.ScenarioCheckpoints;
+import com.stockbit.automation.context.Skippable;
+import com.stockbit.automation.context.TestContext;
+import io.cucumber.java.en.Given;
+
+/**
+ * Step definitions marking scenario checkpoints a retry can resume from.
+ */
+public class CheckpointSteps {
+
+    private final TestContext testContext;
+
+    public CheckpointSteps(TestContext testContext) {
+        this.testContext = testContext;
+    }
+
+    @Given("checkpoint {string}")
+    @Skippable
+    public void checkpoint(String name) {
+        if (!ScenarioCheckpoints.isEnabled()) {
+            return;
+        }
+        ScenarioCheckpoints.save(name, testContext);
+    }
+}
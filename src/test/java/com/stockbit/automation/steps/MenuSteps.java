@@ -50,6 +50,14 @@ public class MenuSteps {
         logger.info("Navigated to {} menu", menuName);
     }
 
+    @When("I open the {string} screen")
+    public void iOpenTheScreen(String menuName) {
+        Screen screen = ScreenLauncher.screenForMenuItem(menuName)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown screen: " + menuName));
+        new ScreenLauncher(DriverManager.getDriver()).launch(screen);
+        logger.info("Opened {} screen", menuName);
+    }
+
     // ==================== WebView Steps ====================
 
     @Then("I should see the WebView page")
@@ -0,0 +1,57 @@
+package com.stockbit.automation.steps;
+
+import com.stockbit.automation.config.AppiumConfig;
+import com.stockbit.automation.context.Skippable;
+import com.stockbit.automation.context.TestContext;
+import com.stockbit.automation.pages.AppStateSeeder;
+import io.cucumber.java.en.Given;
+import io.qameta.allure.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Step definitions that seed preconditions directly instead of driving the UI.
+ * Use them when the screens involved are not what the scenario tests.
+ */
+public class PreconditionSteps {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreconditionSteps.class);
+    private final TestContext testContext;
+    private AppStateSeeder seeder;
+
+    public PreconditionSteps(TestContext testContext) {
+        this.testContext = testContext;
+    }
+
+    private AppStateSeeder getSeeder() {
+        if (seeder == null) {
+            seeder = new AppStateSeeder(testContext.getDriver());
+        }
+        return seeder;
+    }
+
+    @Given("the cart contains {string} in {word}")
+    @Step("Seed cart with {0} in {1}")
+    @Skippable
+    public void theCartContains(String productName, String color) {
+        testContext.setContext("selectedProductName", productName);
+        testContext.setContext("selectedColor", color);
+        logger.info("Seeding cart with {} in {}", productName, color);
+        getSeeder().seedCart(productName, color);
+    }
+
+    @Given("I am logged in as {word}")
+    @Step("Seed login as {0}")
+    public void iAmLoggedInAs(String username) {
+        iAmLoggedInAsWithPassword(username, AppiumConfig.getLoginPassword());
+    }
+
+    @Given("I am logged in as {string} with password {string}")
+    @Step("Seed login as {0}")
+    @Skippable
+    public void iAmLoggedInAsWithPassword(String username, String password) {
+        logger.info("Seeding login as {}", username);
+        getSeeder().seedLogin(username, password);
+        testContext.setContext("loggedInUser", username);
+    }
+}
@@ -7,7 +7,7 @@ Feature: Shopping Cart
   @critical
   Scenario: View cart contents and update cart item quantity
     Given the app is launched
-    And I have added a product to cart
+    And the cart contains "Sauce Labs Backpack" in Black
     When I click on cart icon
     Then I should see the cart page
     And the cart should contain at least 1 item
@@ -19,7 +19,7 @@ Feature: Shopping Cart
   @checkout
   Scenario: Proceed to checkout
     Given the app is launched
-    And I have added a product to cart
+    And the cart contains "Sauce Labs Backpack" in Black
     When I click on cart icon
     Then I should see the cart page
     When I click proceed to checkout
@@ -28,7 +28,7 @@ Feature: Shopping Cart
   @deleteCart
   Scenario: Empty cart shows message
     Given the app is launched
-    And I have added a product to cart
+    And the cart contains "Sauce Labs Backpack" in Black
     When I click on cart icon
     Then I should see the cart page
     When I remove all items from cart
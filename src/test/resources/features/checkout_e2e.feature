@@ -24,6 +24,7 @@ Feature: E2E Checkout Flow
     And the cart should contain at least 1 item
     And the selected item name in cart should be correct
     And the selected item color in cart should be correct
+    And checkpoint "cart ready"
 
     # Step 3: Proceed to checkout
     When I click proceed to checkout
@@ -32,6 +33,7 @@ Feature: E2E Checkout Flow
     # Step 4-5: Login with valid user (locked user test moved to separate scenario)
     When I login with valid user "bod@example.com" and password "10203040"
     Then I should see the shipping address page
+    And checkpoint "logged in"
 
     # Step 6: Test shipping address validation
     When I click to payment button without filling fields
@@ -61,6 +63,7 @@ Feature: E2E Checkout Flow
     # Step 10: Proceed to review order
     When I click review order button
     Then I should see the review order page
+    And checkpoint "order review"
 
     # Step 13: Verify order details
     And the order should contain the selected product
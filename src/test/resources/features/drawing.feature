@@ -6,7 +6,7 @@ Feature: Drawing Canvas Functionality
 
   Background:
     Given the app is launched
-    When I navigate to the "Drawing" menu
+    When I open the "Drawing" screen
 
   Scenario: Draw, Save, and Clear a Drawing
     Then I should see the Drawing page
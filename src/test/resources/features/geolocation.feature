@@ -6,7 +6,7 @@ Feature: Geo Location Functionality
 
   Background:
     Given the app is launched
-    When I navigate to the "Geo Location" menu
+    When I open the "Geo Location" screen
 
   Scenario: Start and Stop Observing Geo Location
     Then I should see the Geo Location page
@@ -6,7 +6,7 @@ Feature: QR Code Scanner Functionality
 
   Background:
     Given the app is launched
-    When I navigate to the "QR Code Scanner" menu
+    When I open the "QR Code Scanner" screen
 
   Scenario: Access QR Code Scanner
     Then I should grant camera permission if requested
@@ -6,7 +6,7 @@ Feature: WebView Functionality
 
   Background:
     Given the app is launched
-    When I navigate to the "WebView" menu
+    When I open the "WebView" screen
 
   Scenario: Navigate to Google.com in WebView
     Then I should see the WebView page